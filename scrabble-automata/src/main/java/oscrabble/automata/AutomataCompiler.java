@@ -0,0 +1,64 @@
+package oscrabble.automata;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import oscrabble.dictionary.Dictionary;
+import oscrabble.dictionary.Language;
+import oscrabble.player.ai.BruteForceMethod;
+
+import java.io.IOError;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Build step precompiling the automaton of the dictionary of each language. The automata are written in the
+ * directory given as first argument, which is to be shipped under {@code oscrabble/automata} of the classpath. A
+ * language whose dictionary cannot be loaded is reported as error; the step fails for it if the second argument is
+ * {@code true}.
+ */
+public final class AutomataCompiler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AutomataCompiler.class);
+
+	private AutomataCompiler() {
+	}
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			throw new IllegalArgumentException("Usage: AutomataCompiler <output directory> [<all languages required>]");
+		}
+		final Path directory = Paths.get(args[0]);
+		final boolean allRequired = args.length == 2 && Boolean.parseBoolean(args[1]);
+		Files.createDirectories(directory);
+		final List<Language> missing = new ArrayList<>();
+		for (final Language language : Language.values()) {
+			final Dictionary dictionary;
+			try {
+				dictionary = Dictionary.getDictionary(language);
+			} catch (final AssertionError | IOError e) {
+				// p.ex. a word list not delivered with the sources
+				LOGGER.error("No automaton precompiled for " + language + ", the dictionary cannot be loaded: " + e);
+				missing.add(language);
+				continue;
+			}
+			final long start = System.currentTimeMillis();
+			final Path file = BruteForceMethod.precompileAutomaton(dictionary, directory);
+			if (!Files.exists(file)) {
+				throw new IllegalStateException("Automaton for " + language + " not written: " + file);
+			}
+			LOGGER.info("Automaton for " + language + ": " + file.getFileName() + " (" + (System.currentTimeMillis() - start) + " ms)");
+		}
+
+		if (!missing.isEmpty()) {
+			final String message = "No automaton precompiled for " + missing + ": it is built at first use, which is slow";
+			if (allRequired) {
+				throw new IllegalStateException(message);
+			}
+			LOGGER.error(message);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package org.quinto.dawg;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file format of a {@link CompressedDAWGSet}, designed to be mapped in memory. All values are ints, in the
+ * byte order of the machine which has written the file:
+ * <pre>
+ * magic number "DAWG"
+ * format version
+ * flags: 1 for a large alphabet, 2 for a set with incoming transitions
+ * number of letters
+ * number of words
+ * maximal length of the words
+ * length of the outgoing data, in ints
+ * length of the incoming data, in ints
+ * letters, as chars, padded to a multiple of two chars
+ * outgoing data
+ * incoming data
+ * </pre>
+ */
+final class CompressedDAWGFile {
+	private static final int MAGIC = 0x44415747;
+	static final int VERSION = 1;
+	private static final int HEADER_SIZE_IN_INTS = 8;
+
+	private static final int FLAG_LARGE_ALPHABET = 1;
+	private static final int FLAG_INCOMING_TRANSITIONS = 2;
+
+	private CompressedDAWGFile() {
+	}
+
+	static void write(CompressedDAWGSet set, Path file) throws IOException {
+		int lettersSizeInInts = (set.letters.length + 1) >>> 1;
+		int outgoingSize = set.outgoing.limit();
+		int incomingSize = set.incoming == null ? 0 : set.incoming.limit();
+		ByteBuffer buffer = ByteBuffer.allocate((HEADER_SIZE_IN_INTS + lettersSizeInInts + outgoingSize + incomingSize) * Integer.BYTES)
+				.order(ByteOrder.nativeOrder());
+		int flags = (set instanceof CompressedDAWGSetLargeAlphabet ? FLAG_LARGE_ALPHABET : 0)
+				| (set.incoming == null ? 0 : FLAG_INCOMING_TRANSITIONS);
+		buffer.putInt(MAGIC)
+				.putInt(VERSION)
+				.putInt(flags)
+				.putInt(set.letters.length)
+				.putInt(set.size())
+				.putInt(set.getMaxLength())
+				.putInt(outgoingSize)
+				.putInt(incomingSize);
+		buffer.asCharBuffer().put(set.letters);
+		buffer.position(buffer.position() + lettersSizeInInts * Integer.BYTES);
+		IntBuffer data = buffer.asIntBuffer();
+		data.put(set.outgoing.duplicate().clear());
+		if (set.incoming != null) {
+			data.put(set.incoming.duplicate().clear());
+		}
+		buffer.clear();
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		}
+	}
+
+	static CompressedDAWGSet read(Path file, CompressedDAWGSet.Storage storage) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (storage == CompressedDAWGSet.Storage.MAPPED) {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			} else {
+				if (size > Integer.MAX_VALUE) {
+					throw new IOException("DAWG file too large: " + file);
+				}
+				buffer = storage == CompressedDAWGSet.Storage.DIRECT ? ByteBuffer.allocateDirect((int) size) : ByteBuffer.allocate((int) size);
+				while (buffer.hasRemaining())
+					if (channel.read(buffer) < 0) {
+						throw new IOException("Corrupted DAWG file: " + file);
+					}
+				buffer.clear();
+			}
+		}
+		CompressedDAWGSet set = read(buffer, file);
+		if (storage == CompressedDAWGSet.Storage.HEAP) {
+			// the nodes read arrays, as for a set built in memory
+			set.outgoingData = new int[set.outgoing.limit()];
+			set.outgoing.get(0, set.outgoingData);
+			if (set.incoming != null) {
+				set.incomingData = new int[set.incoming.limit()];
+				set.incoming.get(0, set.incomingData);
+			}
+			set.wrapData();
+		} else if (storage == CompressedDAWGSet.Storage.DIRECT) {
+			// the views must be read-only, as the ones of a mapped file
+			set.outgoing = set.outgoing.asReadOnlyBuffer();
+			set.incoming = set.incoming == null ? null : set.incoming.asReadOnlyBuffer();
+		}
+		return set;
+	}
+
+	private static CompressedDAWGSet read(ByteBuffer buffer, Path file) throws IOException {
+		if (buffer.capacity() < HEADER_SIZE_IN_INTS * Integer.BYTES) {
+			throw new IOException("Not a DAWG file: " + file);
+		}
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		int magic = buffer.getInt(0);
+		if (magic == Integer.reverseBytes(MAGIC)) {
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+		} else if (magic != MAGIC) {
+			throw new IOException("Not a DAWG file: " + file);
+		}
+		IntBuffer header = buffer.asIntBuffer();
+		if (header.get(1) != VERSION) {
+			throw new IOException("Unsupported version " + header.get(1) + " of DAWG file: " + file);
+		}
+		int flags = header.get(2);
+		int letterCount = header.get(3);
+		int lettersSizeInInts = (letterCount + 1) >>> 1;
+		int outgoingSize = header.get(6);
+		int incomingSize = header.get(7);
+		long expectedSize = ((long) HEADER_SIZE_IN_INTS + lettersSizeInInts + outgoingSize + incomingSize) * Integer.BYTES;
+		if (letterCount < 0 || outgoingSize < 0 || incomingSize < 0 || expectedSize != buffer.capacity()) {
+			throw new IOException("Corrupted DAWG file: " + file);
+		}
+
+		CompressedDAWGSet set = (flags & FLAG_LARGE_ALPHABET) != 0 ? new CompressedDAWGSetLargeAlphabet() : new CompressedDAWGSet();
+		set.size = header.get(4);
+		set.maxLength = header.get(5);
+		set.letters = new char[letterCount];
+		buffer.position(HEADER_SIZE_IN_INTS * Integer.BYTES);
+		buffer.asCharBuffer().get(set.letters);
+		buffer.position(buffer.position() + lettersSizeInInts * Integer.BYTES);
+		IntBuffer data = buffer.asIntBuffer();
+		set.outgoing = data.slice(0, outgoingSize);
+		set.incoming = (flags & FLAG_INCOMING_TRANSITIONS) == 0 ? null : data.slice(outgoingSize, incomingSize);
+		set.calculateCachedValues();
+		return set;
+	}
+}
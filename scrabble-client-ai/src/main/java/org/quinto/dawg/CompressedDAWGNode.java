@@ -46,7 +46,7 @@ class CompressedDAWGNode extends DAWGNode {
 	 */
 	@Override
 	public boolean isAcceptNode() {
-		return index < 0 ? true : (graph.outgoingData[index] & ACCEPT_NODE_MASK) == ACCEPT_NODE_MASK;
+		return index < 0 ? true : graph.isAccept(index);
 	}
 
 	/**
@@ -54,7 +54,7 @@ class CompressedDAWGNode extends DAWGNode {
 	 * @return an int of the index in this node's containing array at which its transition set begins
 	 */
 	public int getTransitionSetBeginIndex() {
-		return index < 0 ? 0 : graph.outgoingData[index] & TRANSITION_SET_BEGIN_INDEX_MASK;
+		return index < 0 ? 0 : graph.outgoing.get(index) & TRANSITION_SET_BEGIN_INDEX_MASK;
 	}
 
 	/**
@@ -70,7 +70,7 @@ class CompressedDAWGNode extends DAWGNode {
 				int to = index + graph.getOutgoingTransitionSizeInInts();
 				int s = 0;
 				for (int i = from; i < to; i++)
-					s += Integer.bitCount(graph.outgoingData[i]);
+					s += Integer.bitCount(graph.outgoing.get(i));
 				transitionSetSize = s;
 			}
 		}
@@ -117,9 +117,9 @@ class CompressedDAWGNode extends DAWGNode {
 				} else {
 					// End node is located at the beginning.
 					int idx = index == END ? 0 : index;
-					int begin = graph.incomingData[idx + 1];
-					to = begin + graph.incomingData[idx + 2] * CompressedDAWGSet.INCOMING_TRANSITION_SIZE_IN_INTS;
-					from = CompressedDAWGSet.binarySearchFirstOccurrence(graph.incomingData, begin, to, c, CompressedDAWGSet.INCOMING_TRANSITION_SIZE_IN_INTS);
+					int begin = graph.incoming.get(idx + 1);
+					to = begin + graph.incoming.get(idx + 2) * CompressedDAWGSet.INCOMING_TRANSITION_SIZE_IN_INTS;
+					from = CompressedDAWGSet.binarySearchFirstOccurrence(graph.incoming, begin, to, c, CompressedDAWGSet.INCOMING_TRANSITION_SIZE_IN_INTS);
 				}
 			}
 
@@ -133,11 +133,11 @@ class CompressedDAWGNode extends DAWGNode {
 						if (pos < 0 || pos >= to) {
 							throw NO_SUCH_ELEMENT_EXCEPTION;
 						}
-						char letter = (char) graph.incomingData[pos];
+						char letter = (char) graph.incoming.get(pos);
 						if (letter != c) {
 							throw NO_SUCH_ELEMENT_EXCEPTION;
 						}
-						CompressedDAWGNode ret = graph.incomingData[pos + 2] == 0 ? graph.getSourceNode() : new CompressedDAWGNode(graph, pos);
+						CompressedDAWGNode ret = graph.incoming.get(pos + 2) == 0 ? graph.getSourceNode() : new CompressedDAWGNode(graph, pos);
 						pos += CompressedDAWGSet.INCOMING_TRANSITION_SIZE_IN_INTS;
 						return ret;
 					}
@@ -180,29 +180,8 @@ class CompressedDAWGNode extends DAWGNode {
 	 */
 	@Override
 	public CompressedDAWGNode transition(char letter) {
-		Integer letterPos = graph.getLettersIndex().get(letter);
-		if (letterPos == null) {
-			return null;
-		}
-		int lp = letterPos;
-		int transitionsStart = index + 1;
-		int intIndexOfLetterInArray = lp >>> 5;
-		int transitionsEnd = transitionsStart + intIndexOfLetterInArray;
-		lp &= 31;
-		int bitIndexOfLetterInInt = 1 << lp;
-		if ((graph.outgoingData[transitionsEnd] & bitIndexOfLetterInInt) == 0) {
-			return null;
-		}
-		int pos = 0;
-		for (int i = transitionsStart; i < transitionsEnd; i++)
-			pos += Integer.bitCount(graph.outgoingData[i]);
-		if (lp > 0) {
-			pos += Integer.bitCount(graph.outgoingData[transitionsEnd] << (32 - lp));
-		}
-		int transitionSizeInInts = graph.getOutgoingTransitionSizeInInts();
-		pos *= transitionSizeInInts;
-		pos += getTransitionSetBeginIndex();
-		return new CompressedDAWGNode(graph, pos);
+		int child = graph.child(index, letter);
+		return child == EMPTY ? null : new CompressedDAWGNode(graph, child);
 	}
 
 	/**
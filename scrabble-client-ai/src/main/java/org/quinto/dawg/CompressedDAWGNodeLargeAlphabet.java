@@ -16,7 +16,7 @@ class CompressedDAWGNodeLargeAlphabet extends CompressedDAWGNode {
 	 */
 	@Override
 	public boolean isAcceptNode() {
-		return index < 0 ? true : (graph.outgoingData[index + 1] & ACCEPT_NODE_MASK) == ACCEPT_NODE_MASK;
+		return index < 0 ? true : (graph.outgoing.get(index + 1) & ACCEPT_NODE_MASK) == ACCEPT_NODE_MASK;
 	}
 
 	/**
@@ -26,7 +26,7 @@ class CompressedDAWGNodeLargeAlphabet extends CompressedDAWGNode {
 	 */
 	@Override
 	public int getTransitionSetBeginIndex() {
-		return index < 0 ? 0 : graph.outgoingData[index + 1] & TRANSITION_SET_BEGIN_INDEX_MASK;
+		return index < 0 ? 0 : graph.outgoing.get(index + 1) & TRANSITION_SET_BEGIN_INDEX_MASK;
 	}
 
 	/**
@@ -36,7 +36,7 @@ class CompressedDAWGNodeLargeAlphabet extends CompressedDAWGNode {
 	 */
 	@Override
 	public int getOutgoingTransitionsSize() {
-		return index < 0 ? 0 : graph.outgoingData[index + 2];
+		return index < 0 ? 0 : graph.outgoing.get(index + 2);
 	}
 
 	@Override
@@ -74,9 +74,9 @@ class CompressedDAWGNodeLargeAlphabet extends CompressedDAWGNode {
 	 */
 	@Override
 	public CompressedDAWGNode transition(char letter) {
-		int begin = graph.outgoingData[index + 1] & TRANSITION_SET_BEGIN_INDEX_MASK;
-		int to = begin + graph.outgoingData[index + 2] * CompressedDAWGSetLargeAlphabet.OUTGOING_TRANSITION_SIZE_IN_INTS;
-		int pos = CompressedDAWGSet.binarySearchFirstOccurrence(graph.outgoingData, begin, to, letter, CompressedDAWGSetLargeAlphabet.OUTGOING_TRANSITION_SIZE_IN_INTS);
+		int begin = graph.outgoing.get(index + 1) & TRANSITION_SET_BEGIN_INDEX_MASK;
+		int to = begin + graph.outgoing.get(index + 2) * CompressedDAWGSetLargeAlphabet.OUTGOING_TRANSITION_SIZE_IN_INTS;
+		int pos = CompressedDAWGSet.binarySearchFirstOccurrence(graph.outgoing, begin, to, letter, CompressedDAWGSetLargeAlphabet.OUTGOING_TRANSITION_SIZE_IN_INTS);
 		if (pos < 0) {
 			return null;
 		}
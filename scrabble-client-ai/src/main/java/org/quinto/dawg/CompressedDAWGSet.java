@@ -6,15 +6,16 @@ import org.quinto.dawg.util.SimpleEntry;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.TreeSet;
 
 import org.quinto.dawg.util.UnmodifiableNavigableSet;
@@ -25,36 +26,51 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 	private static final CompressedDAWGNode EMPTY_NODE = new CompressedDAWGNode(null, DAWGNode.EMPTY);
 	/**
 	 * Array that will contain a space-saving version of the ModifiableDAWGSet after a call to compress().
+	 * {@code null} for a set read from a mapped file.
 	 */
 	int outgoingData[];
 
 	int incomingData[];
 
+	/**
+	 * The data the nodes read: views of {@link #outgoingData} and {@link #incomingData}, or of a mapped file.
+	 * {@link #incoming} is {@code null} for a set without incoming transitions.
+	 */
+	transient IntBuffer outgoing;
+	transient IntBuffer incoming;
+
 	/**
 	 * An array of all letters used in this dictionary (an alphabet of the language defined by this DAWG).
 	 */
 	char letters[];
 	/**
-	 * Quantity of words in this DAWG.
+	 * Quantity of words in this DAWG. The values calculated lazily are volatile, so that a set shared between threads
+	 * publishes them safely.
 	 */
-	transient Integer size;
-	transient NavigableSet<Character> alphabet;
+	transient volatile Integer size;
+	transient volatile NavigableSet<Character> alphabet;
 	/**
 	 * Maximal length of words contained in this DAWG.
 	 */
-	transient Integer maxLength;
+	transient volatile Integer maxLength;
 	/**
-	 * CompressedDAWGNode from which all others in the structure are reachable
+	 * CompressedDAWGNode from which all others in the structure are reachable.
 	 */
-	transient CompressedDAWGNode sourceNode;
+	transient volatile CompressedDAWGNode sourceNode;
 	/**
-	 * A mapping from characters of {@link #letters} array to their positions in that array.
+	 * A mapping from characters of {@link #letters} array to their positions in that array, indexed by the
+	 * characters: {@code -1} for the characters out of the alphabet.
 	 */
-	private transient Map<Character, Integer> lettersIndex;
+	private transient int letterIndexes[];
 	private transient int transitionSizeInInts;
-	private transient CompressedDAWGNode endNode;
+	private transient volatile CompressedDAWGNode endNode;
+	/**
+	 * Number of words which can be read from each node, indexed by the position of the node divided by the size of a
+	 * transition. Calculated lazily.
+	 */
+	private transient volatile int wordCounts[];
 
-	private transient Integer hashCode;
+	private transient volatile Integer hashCode;
 
 	/**
 	 * Package-private constructor. Use {@link ModifiableDAWGSet#compress} to create instances of this class.
@@ -62,14 +78,95 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 	CompressedDAWGSet() {
 	}
 
-	static int binarySearchFirstOccurrence(int array[], int from, int to, int key, int step) {
+	/**
+	 * Writes this set to a file in a binary format which can be read back with {@link #map(Path)}.
+	 *
+	 * @param file the file
+	 * @throws IOException on write error
+	 */
+	public void write(Path file) throws IOException {
+		CompressedDAWGFile.write(this, file);
+	}
+
+	/**
+	 * Maps a file written by {@link #write(Path)} in memory. The nodes read the mapped file directly: the data is not
+	 * copied on the heap, and the processes mapping the same file share one copy in the page cache.
+	 *
+	 * @param file the file
+	 * @return the set
+	 * @throws IOException on read error, or if the file is not in the expected format or version
+	 */
+	public static CompressedDAWGSet map(Path file) throws IOException {
+		return read(file, Storage.MAPPED);
+	}
+
+	/**
+	 * Reads a file written by {@link #write(Path)}. The same nodes work on all storages.
+	 *
+	 * @param file    the file
+	 * @param storage where to hold the data of the set
+	 * @return the set
+	 * @throws IOException on read error, or if the file is not in the expected format or version
+	 */
+	public static CompressedDAWGSet read(Path file, Storage storage) throws IOException {
+		return CompressedDAWGFile.read(file, storage);
+	}
+
+	/**
+	 * Where the data of a set read from a file is held
+	 */
+	public enum Storage {
+		/**
+		 * In int arrays on the heap
+		 */
+		HEAP,
+		/**
+		 * In a direct buffer, out of the heap, but private to the process
+		 */
+		DIRECT,
+		/**
+		 * In the file mapped in memory, out of the heap: the processes mapping the same file share one copy in the
+		 * page cache
+		 */
+		MAPPED
+	}
+
+	/**
+	 * Wraps the arrays of data in the buffers the nodes read.
+	 */
+	void wrapData() {
+		outgoing = IntBuffer.wrap(outgoingData);
+		incoming = incomingData == null ? null : IntBuffer.wrap(incomingData);
+	}
+
+	/**
+	 * A mapped set is serialized as a set on the heap.
+	 *
+	 * @see Serializable
+	 */
+	Object writeReplace() {
+		if (outgoingData != null) {
+			return this;
+		}
+		CompressedDAWGSet copy = this instanceof CompressedDAWGSetLargeAlphabet ? new CompressedDAWGSetLargeAlphabet() : new CompressedDAWGSet();
+		copy.letters = letters;
+		copy.outgoingData = new int[outgoing.limit()];
+		outgoing.get(0, copy.outgoingData);
+		if (incoming != null) {
+			copy.incomingData = new int[incoming.limit()];
+			incoming.get(0, copy.incomingData);
+		}
+		return copy;
+	}
+
+	static int binarySearchFirstOccurrence(IntBuffer array, int from, int to, int key, int step) {
 		int low = from;
 		int high = to - step;
 		int ret = -1;
 		while (low <= high) {
 			int mid = (low + high) >>> 1;
 			mid -= (mid - low) % step;
-			int midVal = array[mid];
+			int midVal = array.get(mid);
 			if (midVal < key) {
 				low = mid + step;
 			} else if (midVal > key) {
@@ -89,6 +186,7 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 	 */
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
 		ois.defaultReadObject();
+		wrapData();
 		calculateCachedValues();
 	}
 
@@ -120,7 +218,7 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 
 	@Override
 	public boolean isWithIncomingTransitions() {
-		return incomingData != null;
+		return incoming != null;
 	}
 
 	@Override
@@ -149,14 +247,269 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 		throw new IllegalArgumentException("This method should not be called on empty strings");
 	}
 
-	Map<Character, Integer> getLettersIndex() {
-		if (lettersIndex == null) {
-			Map<Character, Integer> ret = new HashMap<Character, Integer>();
-			for (int i = 0; i < letters.length; i++)
-				ret.put(letters[i], i);
-			lettersIndex = ret;
+	/**
+	 * Retrieves the position of a letter in the alphabet of this DAWG.
+	 *
+	 * @param letter a char
+	 * @return the index of the letter, {@code -1} if the letter is not part of the alphabet
+	 */
+	public int letterIndex(char letter) {
+		return letter < letterIndexes.length ? letterIndexes[letter] : -1;
+	}
+
+	/**
+	 * @param letterIndex position of a letter in the alphabet of this DAWG
+	 * @return the letter
+	 */
+	public char letterAt(int letterIndex) {
+		return letters[letterIndex];
+	}
+
+	/*
+	 * Flyweight traversal. The nodes are designated by int handles, the source node being DAWGNode.START, and the
+	 * methods allocate nothing.
+	 */
+
+	/**
+	 * @param node handle of a node
+	 * @return true if the node is an accept state, false for {@link DAWGNode#EMPTY}
+	 */
+	public boolean isAccept(int node) {
+		return node >= 0 && (outgoing.get(node) & CompressedDAWGNode.ACCEPT_NODE_MASK) != 0;
+	}
+
+	/**
+	 * Retrieves the outgoing transitions of a node. Only for alphabets of at most 64 letters. The first ints of the
+	 * transition set of a node are a bit array of its labels: it holds in one or two ints.
+	 *
+	 * @param node handle of a node
+	 * @return a mask whose bit {@code i} is set if a transition is labeled with the letter at index {@code i}
+	 * @throws IllegalArgumentException for a set of more than 64 letters, if a transition of the node is labeled with
+	 *                                  a letter of index 64 or more
+	 */
+	public long edgeMask(int node) {
+		if (node < 0) {
+			return 0;
+		}
+		long mask = outgoing.get(node + 1) & 0xFFFFFFFFL;
+		if (transitionSizeInInts > 2) {
+			mask |= (long) outgoing.get(node + 2) << 32;
+		}
+		return mask;
+	}
+
+	/**
+	 * Follows an outgoing transition of a node. The children follow each other in the order of their labels: the
+	 * position of a child is the number of the labels with a lower index.
+	 *
+	 * @param node        handle of a node
+	 * @param letterIndex index of the label in the alphabet
+	 * @return the handle of the target node, {@link DAWGNode#EMPTY} if there is no such transition
+	 */
+	public int child(int node, int letterIndex) {
+		if (node < 0) {
+			return DAWGNode.EMPTY;
+		}
+		int transitionsStart = node + 1;
+		int transitionsEnd = transitionsStart + (letterIndex >>> 5);
+		int bitIndexOfLetterInInt = 1 << (letterIndex & 31);
+		int letterBits = outgoing.get(transitionsEnd);
+		if ((letterBits & bitIndexOfLetterInInt) == 0) {
+			return DAWGNode.EMPTY;
+		}
+		int pos = Integer.bitCount(letterBits & (bitIndexOfLetterInInt - 1));
+		for (int i = transitionsStart; i < transitionsEnd; i++)
+			pos += Integer.bitCount(outgoing.get(i));
+		return (outgoing.get(node) & CompressedDAWGNode.TRANSITION_SET_BEGIN_INDEX_MASK) + pos * transitionSizeInInts;
+	}
+
+	/**
+	 * Follows an outgoing transition of a node.
+	 *
+	 * @param node   handle of a node
+	 * @param letter the label of the transition
+	 * @return the handle of the target node, {@link DAWGNode#EMPTY} if there is no such transition
+	 */
+	public int child(int node, char letter) {
+		int letterIndex = letterIndex(letter);
+		return letterIndex < 0 ? DAWGNode.EMPTY : child(node, letterIndex);
+	}
+
+	@Override
+	public boolean contains(Object str) {
+		String s = (String) str;
+		int node = DAWGNode.START;
+		for (int i = 0; i < s.length(); i++) {
+			node = child(node, s.charAt(i));
+			if (node == DAWGNode.EMPTY) {
+				return false;
+			}
+		}
+		return isAccept(node);
+	}
+
+	/**
+	 * Retrieves the number of words which can be read from a node, the node itself counting for the empty string if
+	 * it is an accept state. The counts of all nodes are calculated once, at the first call.
+	 *
+	 * @param node handle of a node
+	 * @return the number of words, {@code 0} for {@link DAWGNode#EMPTY}
+	 */
+	public int wordCount(int node) {
+		if (node == DAWGNode.EMPTY) {
+			return 0;
+		}
+		int size = getOutgoingTransitionSizeInInts();
+		int counts[] = wordCounts;
+		if (counts == null) {
+			counts = new int[outgoing.limit() / size];
+			Arrays.fill(counts, -1);
+			countWords(DAWGNode.START, counts, size);
+			wordCounts = counts;
+		}
+		return counts[node / size];
+	}
+
+	private int countWords(int node, int counts[], int size) {
+		int record = node / size;
+		if (counts[record] < 0) {
+			int count = isAccept(node) ? 1 : 0;
+			int child = firstChild(node);
+			for (int i = childCount(node); i > 0; i--, child += size)
+				count += countWords(child, counts, size);
+			counts[record] = count;
 		}
-		return lettersIndex;
+		return counts[record];
+	}
+
+	/**
+	 * Retrieves the position of a word in this set. The words are numbered from {@code 0} to {@code size() - 1} in
+	 * the order of the iteration, so that a subset can be held in a bit set. It takes a time proportional to the
+	 * length of the word.
+	 *
+	 * @param word a word
+	 * @return its position, {@code -1} if it is not in this set
+	 */
+	public int indexOf(String word) {
+		int size = getOutgoingTransitionSizeInInts();
+		int index = 0;
+		int node = DAWGNode.START;
+		for (int i = 0; i < word.length(); i++) {
+			int child = child(node, word.charAt(i));
+			if (child == DAWGNode.EMPTY) {
+				return -1;
+			}
+			if (isAccept(node)) {
+				index++;
+			}
+			// the children are in the order of their labels
+			for (int sibling = firstChild(node); sibling < child; sibling += size)
+				index += wordCount(sibling);
+			node = child;
+		}
+		return isAccept(node) ? index : -1;
+	}
+
+	/**
+	 * Retrieves a word by its position.
+	 *
+	 * @param index position of the word, as given by {@link #indexOf(String)}
+	 * @return the word
+	 * @throws IndexOutOfBoundsException if the index is negative or not lower than the size of this set
+	 */
+	public String wordAt(int index) {
+		if (index < 0 || index >= wordCount(DAWGNode.START)) {
+			throw new IndexOutOfBoundsException("Index: " + index);
+		}
+		int size = getOutgoingTransitionSizeInInts();
+		StringBuilder sb = new StringBuilder();
+		int node = DAWGNode.START;
+		while (true) {
+			if (isAccept(node)) {
+				if (index == 0) {
+					return sb.toString();
+				}
+				index--;
+			}
+			int child = firstChild(node);
+			for (int i = 0; ; i++, child += size) {
+				int count = wordCount(child);
+				if (index < count) {
+					sb.append(childLetter(node, i));
+					break;
+				}
+				index -= count;
+			}
+			node = child;
+		}
+	}
+
+	/**
+	 * @param node handle of a node with children
+	 * @return the handle of its first child, the others following it in the order of their labels
+	 */
+	int firstChild(int node) {
+		return outgoing.get(node) & CompressedDAWGNode.TRANSITION_SET_BEGIN_INDEX_MASK;
+	}
+
+	/**
+	 * @param node handle of a node
+	 * @return its number of children
+	 */
+	int childCount(int node) {
+		return Long.bitCount(edgeMask(node));
+	}
+
+	/**
+	 * @param node handle of a node
+	 * @param i    position of a child of the node
+	 * @return the label of the transition to the child
+	 */
+	char childLetter(int node, int i) {
+		long mask = edgeMask(node);
+		for (; i > 0; i--)
+			mask &= mask - 1;
+		return letters[Long.numberOfTrailingZeros(mask)];
+	}
+
+	/**
+	 * Counts the words starting with a prefix, the prefix itself included. It takes a time proportional to the length
+	 * of the prefix.
+	 *
+	 * @param prefix the prefix
+	 * @return the number of words
+	 */
+	public int countStringsStartingWith(String prefix) {
+		int node = DAWGNode.START;
+		for (int i = 0; i < prefix.length() && node != DAWGNode.EMPTY; i++)
+			node = child(node, prefix.charAt(i));
+		return wordCount(node);
+	}
+
+	@Override
+	boolean visitStrings(DAWGNode node, StringsWalk walk, int length) {
+		if (this instanceof CompressedDAWGSetLargeAlphabet) {
+			return super.visitStrings(node, walk, length);
+		}
+		return visitStrings(((CompressedDAWGNode) node).getIndex(), walk, length);
+	}
+
+	/**
+	 * Visits the Strings which can be read from a node, following the int handles: nothing is allocated, but the
+	 * buffer when it is too short.
+	 */
+	private boolean visitStrings(int node, StringsWalk walk, int length) {
+		if (isAccept(node) && !walk.visitor.visit(walk.buffer, length)) {
+			return false;
+		}
+		int child = outgoing.get(node) & CompressedDAWGNode.TRANSITION_SET_BEGIN_INDEX_MASK;
+		for (long mask = edgeMask(node); mask != 0; mask &= mask - 1, child += transitionSizeInInts) {
+			walk.set(length, letters[Long.numberOfTrailingZeros(mask)]);
+			if (!visitStrings(child, walk, length + 1)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	int getOutgoingTransitionSizeInInts() {
@@ -171,6 +524,11 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 		// Bit array for each char denoting if there exists a transition
 		// from this node to the letter in a specified position
 		transitionSizeInInts = 1 + ((letters.length + 31) >>> 5);
+		int ret[] = new int[letters.length == 0 ? 0 : letters[letters.length - 1] + 1];
+		Arrays.fill(ret, -1);
+		for (int i = 0; i < letters.length; i++)
+			ret[letters[i]] = i;
+		letterIndexes = ret;
 	}
 
 	@Override
@@ -190,16 +548,18 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 
 	@Override
 	public int getTransitionCount() {
-		return outgoingData.length / transitionSizeInInts - 1;
+		return outgoing.limit() / transitionSizeInInts - 1;
 	}
 
 	@Override
 	public int size() {
 		if (size == null) {
-			int s = 0;
-			for (String word : this)
-				s++;
-			size = s;
+			int count[] = new int[1];
+			visitStrings((buffer, length) -> {
+				count[0]++;
+				return true;
+			});
+			size = count[0];
 		}
 		return size;
 	}
@@ -225,7 +585,16 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 		// Simplified equals() method is possible but simplification
 		// of hashCode() would give results that differ from other Set implementations.
 		if (hashCode == null) {
-			hashCode = super.hashCode();
+			// the sum of the hash codes of the Strings, calculated as String#hashCode() does
+			int sum[] = new int[1];
+			visitStrings((buffer, length) -> {
+				int h = 0;
+				for (int i = 0; i < length; i++)
+					h = 31 * h + buffer[i];
+				sum[0] += h;
+				return true;
+			});
+			hashCode = sum[0];
 		}
 		return hashCode;
 	}
@@ -239,8 +608,8 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 			CompressedDAWGSet other = (CompressedDAWGSet) obj;
 			return isWithIncomingTransitions() == other.isWithIncomingTransitions() &&
 					Arrays.equals(letters, other.letters) &&
-					Arrays.equals(outgoingData, other.outgoingData) &&
-					Arrays.equals(incomingData, other.incomingData);
+					outgoing.equals(other.outgoing) &&
+					Objects.equals(incoming, other.incoming);
 		}
 		return super.equals(obj);
 	}
@@ -308,7 +677,7 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 				private int current = desc ? to : from;
 				private int currentCharInt = desc ? toChars : fromChars;
 				private int currentCharShift = (currentCharInt - fromChars) << 5;
-				private int currentCharSet = to < from ? 0 : outgoingData[currentCharInt];
+				private int currentCharSet = to < from ? 0 : outgoing.get(currentCharInt);
 
 				@Override
 				public boolean hasNext() {
@@ -324,7 +693,7 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 						while (currentCharSet == 0) {
 							currentCharInt--;
 							currentCharShift -= 32;
-							currentCharSet = outgoingData[currentCharInt];
+							currentCharSet = outgoing.get(currentCharInt);
 						}
 						charIndex = Integer.highestOneBit(currentCharSet);
 					} else {
@@ -332,7 +701,7 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 						while (currentCharSet == 0) {
 							currentCharInt++;
 							currentCharShift += 32;
-							currentCharSet = outgoingData[currentCharInt];
+							currentCharSet = outgoing.get(currentCharInt);
 						}
 						charIndex = Integer.lowestOneBit(currentCharSet);
 					}
@@ -378,8 +747,8 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 				if (index == DAWGNode.END) {
 					index = 0;
 				}
-				from = incomingData[index + 1];
-				to = from + (incomingData[index + 2] - 1) * INCOMING_TRANSITION_SIZE_IN_INTS;
+				from = incoming.get(index + 1);
+				to = from + (incoming.get(index + 2) - 1) * INCOMING_TRANSITION_SIZE_IN_INTS;
 			}
 		}
 
@@ -387,7 +756,7 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 		public Iterator<SimpleEntry<Character, Collection<? extends DAWGNode>>> iterator() {
 			return new Iterator<SimpleEntry<Character, Collection<? extends DAWGNode>>>() {
 				private int current = desc ? to : from;
-				private char currentLetter = from > to ? '\0' : (char) incomingData[current];
+				private char currentLetter = from > to ? '\0' : (char) incoming.get(current);
 
 				@Override
 				public boolean hasNext() {
@@ -399,7 +768,7 @@ public class CompressedDAWGSet extends DAWGSet implements Serializable {
 					List<DAWGNode> nodes = new ArrayList<DAWGNode>();
 					char retLetter = currentLetter;
 					while (hasNext()) {
-						char c = (char) incomingData[current];
+						char c = (char) incoming.get(current);
 						if (c != currentLetter) {
 							currentLetter = c;
 							break;
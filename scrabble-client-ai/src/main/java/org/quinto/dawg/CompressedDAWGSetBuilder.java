@@ -0,0 +1,283 @@
+package org.quinto.dawg;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Builds a {@link CompressedDAWGSet} from words given in ascending order, after Daciuk et al., "Incremental
+ * Construction of Minimal Acyclic Finite-State Automata". A node is minimized as soon as no following word can pass
+ * through it, i.e. when the next word leaves its path, and its transition set is written at once in the compressed
+ * array. Only the path of the last word is held in an uncompressed form: the memory needed while building is about
+ * the size of the result, whereas a {@link ModifiableDAWGSet} needs several times more before its
+ * {@link ModifiableDAWGSet#compress() compression}.
+ * <p>
+ * The built set has no incoming transitions, and its alphabet may contain at most 64 letters.
+ */
+public class CompressedDAWGSetBuilder {
+	private static final int MAX_LETTERS = 64;
+	/**
+	 * Size of a transition while building: the index of the transition set of the target and its accept mark, then
+	 * the bit array of the labels of the transition set, in two ints. The bits are the letters in the order of their
+	 * first occurrence; they are sorted by {@link #build()}.
+	 */
+	private static final int TRANSITION_SIZE_IN_INTS = 3;
+
+	/**
+	 * Transition sets written so far. The transition to the source node is at the beginning.
+	 */
+	private int data[] = new int[1024 * TRANSITION_SIZE_IN_INTS];
+	private int dataSize = TRANSITION_SIZE_IN_INTS;
+
+	/**
+	 * Hash table of the transition sets written so far, to find the equivalent nodes: the begin index and the size
+	 * of each set, {@code 0} for a free slot.
+	 */
+	private int registerBegins[] = new int[1024];
+	private int registerSizes[] = new int[1024];
+	private int registerCount;
+
+	/**
+	 * Letters in the order of their first occurrence, and their index in this array plus one, indexed by the letters.
+	 */
+	private final char letters[] = new char[MAX_LETTERS];
+	private int letterCount;
+	private int letterIndexes[] = new int[128];
+
+	/**
+	 * Path of the last added word: its letters, and for each node on the path, its accept state, the letters of its
+	 * outgoing transitions and the beginning of these transitions in {@link #transitions}.
+	 */
+	private char path[] = new char[32];
+	private int pathLength;
+	private boolean accept[] = new boolean[33];
+	private long labels[] = new long[33];
+	private int transitionsBegin[] = new int[33];
+
+	/**
+	 * Outgoing transitions of the nodes of the path, as far as their targets are minimized.
+	 */
+	private int transitions[] = new int[32 * TRANSITION_SIZE_IN_INTS];
+	private int transitionsSize;
+
+	private int size;
+	private int maxLength;
+	private boolean built;
+
+	/**
+	 * Adds a word. It must follow the previous one in the natural order of the strings.
+	 * @param word the word
+	 * @return false if the word is the same as the previous one
+	 * @throws IllegalArgumentException if the word is lower than the previous one, or if it brings a 65th letter
+	 * @throws IllegalStateException if the set has already been built
+	 */
+	public boolean add(String word) {
+		if (built) {
+			throw new IllegalStateException("The set has already been built");
+		}
+		int common = 0;
+		if (size > 0) {
+			int limit = Math.min(pathLength, word.length());
+			while (common < limit && path[common] == word.charAt(common))
+				common++;
+			if (common == word.length()) {
+				if (common == pathLength) {
+					return false;
+				}
+				throw new IllegalArgumentException("Words not in ascending order: " + word + " after " + new String(path, 0, pathLength));
+			}
+			if (common < pathLength && word.charAt(common) < path[common]) {
+				throw new IllegalArgumentException("Words not in ascending order: " + word + " after " + new String(path, 0, pathLength));
+			}
+			minimize(common);
+		}
+
+		if (word.length() >= path.length) {
+			int capacity = Math.max(word.length() + 1, path.length * 2);
+			path = Arrays.copyOf(path, capacity);
+			accept = Arrays.copyOf(accept, capacity + 1);
+			labels = Arrays.copyOf(labels, capacity + 1);
+			transitionsBegin = Arrays.copyOf(transitionsBegin, capacity + 1);
+		}
+		for (int i = common; i < word.length(); i++) {
+			char c = word.charAt(i);
+			registerLetter(c);
+			path[i] = c;
+			accept[i + 1] = false;
+			labels[i + 1] = 0;
+			transitionsBegin[i + 1] = transitionsSize;
+		}
+		pathLength = word.length();
+		accept[pathLength] = true;
+		size++;
+		maxLength = Math.max(maxLength, pathLength);
+		return true;
+	}
+
+	/**
+	 * Adds words. They must be in the natural order of the strings, and follow the words already added.
+	 * @param words the words
+	 * @return true if at least one word has been added
+	 * @see #add(String)
+	 */
+	public boolean addAll(Iterable<? extends String> words) {
+		boolean ret = false;
+		for (String word : words)
+			ret |= add(word);
+		return ret;
+	}
+
+	/**
+	 * Adds the lines of a reader, one word per line, without keeping them in memory.
+	 * @param reader the reader. It is not closed.
+	 * @return true if at least one word has been added
+	 * @throws IOException on read error
+	 * @see #add(String)
+	 */
+	public boolean addAll(BufferedReader reader) throws IOException {
+		boolean ret = false;
+		String line;
+		while ((line = reader.readLine()) != null)
+			ret |= add(line);
+		return ret;
+	}
+
+	/**
+	 * Minimizes the last nodes of the path, and builds the set. No more words can be added after that.
+	 * @return the set containing the added words
+	 */
+	public CompressedDAWGSet build() {
+		if (built) {
+			throw new IllegalStateException("The set has already been built");
+		}
+		built = true;
+		minimize(0);
+		data[0] = writeTransitionSet(0, transitionsSize) | (accept[0] ? CompressedDAWGNode.ACCEPT_NODE_MASK : 0);
+		data[1] = (int) labels[0];
+		data[2] = (int) (labels[0] >>> 32);
+
+		// The letters are sorted, and the transitions converted to the size given by the number of letters.
+		CompressedDAWGSet set = new CompressedDAWGSet();
+		set.letters = Arrays.copyOf(letters, letterCount);
+		Arrays.sort(set.letters);
+		set.calculateCachedValues();
+		int finalLetterIndexes[] = new int[letterCount];
+		for (int i = 0; i < letterCount; i++)
+			finalLetterIndexes[i] = set.letterIndex(letters[i]);
+		int transitionSizeInInts = set.getOutgoingTransitionSizeInInts();
+		int outgoingData[] = new int[dataSize / TRANSITION_SIZE_IN_INTS * transitionSizeInInts];
+		for (int from = 0, to = 0; from < dataSize; from += TRANSITION_SIZE_IN_INTS, to += transitionSizeInInts) {
+			int target = data[from];
+			outgoingData[to] = (target & CompressedDAWGNode.ACCEPT_NODE_MASK)
+					| (target & CompressedDAWGNode.TRANSITION_SET_BEGIN_INDEX_MASK) / TRANSITION_SIZE_IN_INTS * transitionSizeInInts;
+			long sortedLabels = 0;
+			for (long l = (data[from + 1] & 0xFFFFFFFFL) | (long) data[from + 2] << 32; l != 0; l &= l - 1)
+				sortedLabels |= 1L << finalLetterIndexes[Long.numberOfTrailingZeros(l)];
+			outgoingData[to + 1] = (int) sortedLabels;
+			if (transitionSizeInInts > 2) {
+				outgoingData[to + 2] = (int) (sortedLabels >>> 32);
+			}
+		}
+		data = null;
+		transitions = null;
+		registerBegins = null;
+		registerSizes = null;
+
+		set.outgoingData = outgoingData;
+		set.size = size;
+		set.maxLength = maxLength;
+		set.wrapData();
+		return set;
+	}
+
+	private void registerLetter(char c) {
+		if (c >= letterIndexes.length) {
+			letterIndexes = Arrays.copyOf(letterIndexes, Math.max(c + 1, letterIndexes.length * 2));
+		}
+		if (letterIndexes[c] == 0) {
+			if (letterCount == MAX_LETTERS) {
+				throw new IllegalArgumentException("More than " + MAX_LETTERS + " letters: use a ModifiableDAWGSet");
+			}
+			letters[letterCount++] = c;
+			letterIndexes[c] = letterCount;
+		}
+	}
+
+	/**
+	 * Replaces the nodes of the path deeper than a given depth by their equivalent in the written transition sets,
+	 * writing their transition sets if they have no equivalent yet.
+	 * @param depth the depth
+	 */
+	private void minimize(int depth) {
+		for (int d = pathLength; d > depth; d--) {
+			int transitionSetBegin = writeTransitionSet(transitionsBegin[d], transitionsSize);
+			transitionsSize = transitionsBegin[d];
+			if (transitionsSize + TRANSITION_SIZE_IN_INTS > transitions.length) {
+				transitions = Arrays.copyOf(transitions, transitions.length * 2);
+			}
+			transitions[transitionsSize++] = transitionSetBegin | (accept[d] ? CompressedDAWGNode.ACCEPT_NODE_MASK : 0);
+			transitions[transitionsSize++] = (int) labels[d];
+			transitions[transitionsSize++] = (int) (labels[d] >>> 32);
+			labels[d - 1] |= 1L << (letterIndexes[path[d - 1]] - 1);
+		}
+		pathLength = depth;
+	}
+
+	/**
+	 * Writes a transition set, unless an equal one has already been written.
+	 * @param from begin of the transitions in {@link #transitions}
+	 * @param to end of the transitions in {@link #transitions}
+	 * @return the index of the transition set, {@code 0} for an empty one
+	 */
+	private int writeTransitionSet(int from, int to) {
+		int length = to - from;
+		if (length == 0) {
+			return 0;
+		}
+		int mask = registerBegins.length - 1;
+		int slot = hash(transitions, from, length) & mask;
+		for (; registerBegins[slot] != 0; slot = (slot + 1) & mask) {
+			int begin = registerBegins[slot];
+			if (registerSizes[slot] == length && Arrays.equals(data, begin, begin + length, transitions, from, to)) {
+				return begin;
+			}
+		}
+
+		if (dataSize + length > data.length) {
+			data = Arrays.copyOf(data, Math.max(dataSize + length, data.length * 2));
+		}
+		int begin = dataSize;
+		System.arraycopy(transitions, from, data, begin, length);
+		dataSize += length;
+		registerBegins[slot] = begin;
+		registerSizes[slot] = length;
+		if (++registerCount * 2 > registerBegins.length) {
+			growRegister();
+		}
+		return begin;
+	}
+
+	private void growRegister() {
+		int oldBegins[] = registerBegins;
+		int oldSizes[] = registerSizes;
+		registerBegins = new int[oldBegins.length * 2];
+		registerSizes = new int[oldBegins.length * 2];
+		int mask = registerBegins.length - 1;
+		for (int i = 0; i < oldBegins.length; i++) {
+			if (oldBegins[i] != 0) {
+				int slot = hash(data, oldBegins[i], oldSizes[i]) & mask;
+				while (registerBegins[slot] != 0)
+					slot = (slot + 1) & mask;
+				registerBegins[slot] = oldBegins[i];
+				registerSizes[slot] = oldSizes[i];
+			}
+		}
+	}
+
+	private static int hash(int array[], int from, int length) {
+		int h = 1;
+		for (int i = from; i < from + length; i++)
+			h = 31 * h + array[i];
+		return h ^ (h >>> 16);
+	}
+}
@@ -3,6 +3,7 @@ package org.quinto.dawg;
 import org.quinto.dawg.util.SemiNavigableMap;
 import org.quinto.dawg.util.SimpleEntry;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 class CompressedDAWGSetLargeAlphabet extends CompressedDAWGSet {
@@ -21,9 +22,70 @@ class CompressedDAWGSetLargeAlphabet extends CompressedDAWGSet {
 	void calculateCachedValues() {
 	}
 
+	@Override
+	public int letterIndex(char letter) {
+		int index = Arrays.binarySearch(letters, letter);
+		return index < 0 ? -1 : index;
+	}
+
+	@Override
+	public boolean isAccept(int node) {
+		return node >= 0 && (outgoing.get(node + 1) & CompressedDAWGNode.ACCEPT_NODE_MASK) != 0;
+	}
+
+	/**
+	 * The labels are not stored as bit array in this layout: the mask is built from the children of the node.
+	 *
+	 * @throws IllegalArgumentException if a transition of the node is labeled with a letter of index 64 or more
+	 */
+	@Override
+	public long edgeMask(int node) {
+		long mask = 0;
+		int child = firstChild(node);
+		for (int i = childCount(node); i > 0; i--, child += OUTGOING_TRANSITION_SIZE_IN_INTS) {
+			int letterIndex = letterIndex((char) outgoing.get(child));
+			if (letterIndex >= Long.SIZE) {
+				throw new IllegalArgumentException("Letter " + (char) outgoing.get(child) + " out of the edge mask");
+			}
+			mask |= 1L << letterIndex;
+		}
+		return mask;
+	}
+
+	@Override
+	int firstChild(int node) {
+		return outgoing.get(node + 1) & CompressedDAWGNode.TRANSITION_SET_BEGIN_INDEX_MASK;
+	}
+
+	@Override
+	int childCount(int node) {
+		return node < 0 ? 0 : outgoing.get(node + 2);
+	}
+
+	@Override
+	char childLetter(int node, int i) {
+		return (char) outgoing.get(firstChild(node) + i * OUTGOING_TRANSITION_SIZE_IN_INTS);
+	}
+
+	@Override
+	public int child(int node, int letterIndex) {
+		return child(node, letters[letterIndex]);
+	}
+
+	@Override
+	public int child(int node, char letter) {
+		if (node < 0) {
+			return DAWGNode.EMPTY;
+		}
+		int begin = outgoing.get(node + 1) & CompressedDAWGNode.TRANSITION_SET_BEGIN_INDEX_MASK;
+		int to = begin + outgoing.get(node + 2) * OUTGOING_TRANSITION_SIZE_IN_INTS;
+		int pos = binarySearchFirstOccurrence(outgoing, begin, to, letter, OUTGOING_TRANSITION_SIZE_IN_INTS);
+		return pos < 0 ? DAWGNode.EMPTY : pos;
+	}
+
 	@Override
 	public int getTransitionCount() {
-		return outgoingData.length / OUTGOING_TRANSITION_SIZE_IN_INTS - 1;
+		return outgoing.limit() / OUTGOING_TRANSITION_SIZE_IN_INTS - 1;
 	}
 
 	/**
@@ -69,7 +131,7 @@ class CompressedDAWGSetLargeAlphabet extends CompressedDAWGSet {
 
 				@Override
 				public SimpleEntry<Character, DAWGNode> next() {
-					char c = (char) outgoingData[current];
+					char c = (char) outgoing.get(current);
 					CompressedDAWGNode node = new CompressedDAWGNodeLargeAlphabet(CompressedDAWGSetLargeAlphabet.this, current);
 					if (desc) {
 						current -= OUTGOING_TRANSITION_SIZE_IN_INTS;
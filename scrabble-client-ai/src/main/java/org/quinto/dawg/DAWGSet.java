@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.lang.reflect.Array;
 import java.text.SimpleDateFormat;
 import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
@@ -20,10 +21,17 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.Map;
 import java.util.NavigableSet;
+import java.util.TreeSet;
 
 public abstract class DAWGSet extends AbstractSet<String> implements NavigableSet<String>, StringsFilter {
 	private static final SimpleDateFormat dotFileNameDateFormat = new SimpleDateFormat("yyyyMMddHHmmssSSS");
 
+	/**
+	 * Wildcards of {@link #getStringsMatching}: one letter, and any count of letters.
+	 */
+	public static final char ANY_LETTER = '?';
+	public static final char ANY_LETTERS = '*';
+
 	/**
 	 * Folder where to save images when {@link #saveAsImage} is called. Default is the relative directory named "temp".
 	 */
@@ -279,6 +287,190 @@ public abstract class DAWGSet extends AbstractSet<String> implements NavigableSe
 		return getStrings("", null, suffixStr, false, null, false, null, false);
 	}
 
+	/**
+	 * Visits all the Strings of the DAWGSet in ascending order. Unlike {@link #getAllStrings()}, no String is created:
+	 * the visitor reads the chars of each one in a buffer reused for all of them.
+	 *
+	 * @param visitor the visitor
+	 * @return false if the visitor has stopped the enumeration
+	 */
+	public boolean visitStrings(StringsVisitor visitor) {
+		return visitStringsStartingWith("", visitor);
+	}
+
+	/**
+	 * Visits the Strings of the DAWGSet that begin with a given String, in ascending order. Unlike
+	 * {@link #getStringsStartingWith(String)}, no String is created.
+	 *
+	 * @param prefixStr a String that is the prefix for all the visited Strings
+	 * @param visitor   the visitor
+	 * @return false if the visitor has stopped the enumeration
+	 */
+	public boolean visitStringsStartingWith(String prefixStr, StringsVisitor visitor) {
+		DAWGNode node = getSourceNode().transition(prefixStr);
+		if (node == null) {
+			return true;
+		}
+		StringsWalk walk = new StringsWalk(visitor, prefixStr.length());
+		prefixStr.getChars(0, prefixStr.length(), walk.buffer, 0);
+		return visitStrings(node, walk, prefixStr.length());
+	}
+
+	/**
+	 * Visits the Strings which can be read from a node.
+	 *
+	 * @param node   the node
+	 * @param walk   the visitor and the buffer
+	 * @param length the length of the String leading to the node, already in the buffer
+	 * @return false if the visitor has stopped the enumeration
+	 */
+	boolean visitStrings(DAWGNode node, StringsWalk walk, int length) {
+		if (node.isAcceptNode() && !walk.visitor.visit(walk.buffer, length)) {
+			return false;
+		}
+		for (Map.Entry<Character, DAWGNode> e : getOutgoingTransitions(node)) {
+			walk.set(length, e.getKey());
+			if (!visitStrings(e.getValue(), walk, length + 1)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A visitor and the buffer it reads the Strings in
+	 */
+	static final class StringsWalk {
+		final StringsVisitor visitor;
+		char buffer[];
+
+		StringsWalk(StringsVisitor visitor, int minCapacity) {
+			this.visitor = visitor;
+			this.buffer = new char[Math.max(32, minCapacity)];
+		}
+
+		/**
+		 * Writes a char in the buffer, enlarging it if needed.
+		 */
+		void set(int index, char c) {
+			if (index == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			buffer[index] = c;
+		}
+	}
+
+	/**
+	 * Retrieves all the Strings in the DAWGSet that match a pattern, the letters standing for the wildcards being
+	 * taken from a rack. The search follows the pattern through the DAWG, and leaves a branch as soon as the pattern
+	 * or the rack cannot be fulfilled anymore.
+	 * <p>
+	 * For example, {@code getStringsMatching("*", rack, ' ')} gives the words which can be made with the rack, and a
+	 * pattern of as many {@link #ANY_LETTER} as tiles the words using the whole rack.
+	 *
+	 * @param pattern a String made of {@link #ANY_LETTER}, standing for one letter, of {@link #ANY_LETTERS}, standing for
+	 *                any count of letters, and of letters standing for themselves
+	 * @param rack    the letters the wildcards can be replaced with, one letter for each use, or {@code null} for no limit.
+	 *                The letters of the pattern are not taken from the rack.
+	 * @param blank   the char which stands in the rack for any letter
+	 * @return the matching Strings, in ascending order
+	 */
+	public NavigableSet<String> getStringsMatching(String pattern, String rack, char blank) {
+		PatternMatcher matcher = new PatternMatcher(pattern, rack, blank);
+		matcher.match(getSourceNode(), 0);
+		return matcher.result;
+	}
+
+	/**
+	 * Search of {@link #getStringsMatching}
+	 */
+	private class PatternMatcher {
+		private final String pattern;
+		private final char tiles[];
+		private final char blank;
+		private final StringBuilder word = new StringBuilder();
+		private final NavigableSet<String> result = new TreeSet<String>();
+		private int tileCount;
+
+		PatternMatcher(String pattern, String rack, char blank) {
+			this.pattern = pattern;
+			this.tiles = rack == null ? null : rack.toCharArray();
+			this.tileCount = rack == null ? 0 : rack.length();
+			this.blank = blank;
+		}
+
+		void match(DAWGNode node, int position) {
+			if (position == pattern.length()) {
+				if (node.isAcceptNode()) {
+					result.add(word.toString());
+				}
+				return;
+			}
+
+			char c = pattern.charAt(position);
+			if (c == ANY_LETTER || c == ANY_LETTERS) {
+				if (c == ANY_LETTERS) {
+					match(node, position + 1);
+				}
+				int next = c == ANY_LETTERS ? position : position + 1;
+				for (Map.Entry<Character, DAWGNode> e : getOutgoingTransitions(node)) {
+					int tile = take(e.getKey());
+					if (tile == -1) {
+						continue;
+					}
+					word.append(e.getKey().charValue());
+					match(e.getValue(), next);
+					word.setLength(word.length() - 1);
+					putBack();
+				}
+			} else {
+				DAWGNode child = node.transition(c);
+				if (child != null) {
+					word.append(c);
+					match(child, position + 1);
+					word.setLength(word.length() - 1);
+				}
+			}
+		}
+
+		/**
+		 * Takes a tile for a letter from the rack: the letter itself if the rack has it, a blank else. Taking the letter
+		 * first never loses a word, as the blank can replace it later.
+		 *
+		 * @return the position the tile had, it is moved behind the remaining ones; {@code -1} if no tile fits.
+		 */
+		private int take(char letter) {
+			if (tiles == null) {
+				return 0;
+			}
+			int found = -1;
+			for (int i = 0; i < tileCount; i++) {
+				if (tiles[i] == letter) {
+					found = i;
+					break;
+				} else if (tiles[i] == blank && found == -1) {
+					found = i;
+				}
+			}
+			if (found != -1) {
+				tileCount--;
+				char tile = tiles[found];
+				tiles[found] = tiles[tileCount];
+				tiles[tileCount] = tile;
+			}
+			return found;
+		}
+
+		/**
+		 * Puts back the last taken tile.
+		 */
+		private void putBack() {
+			if (tiles != null) {
+				tileCount++;
+			}
+		}
+	}
+
 	/**
 	 * Returns the quantity of transitions in this DAWG: prevalence of edges in graph.
 	 *
@@ -665,7 +665,7 @@ public class ModifiableDAWGSet extends DAWGSet {
 		return addTransitionPath(sourceNode.transition(prefixString), suffixString);
 	}
 
-	private int createCompressedOutgoingTransitionsDataSmall(int data[], ModifiableDAWGNode node, int currentNodeIndex, int onePastLastCreatedTransitionSetIndex, int compressedNodeSize, Map<Character, Integer> lettersIndex) {
+	private int createCompressedOutgoingTransitionsDataSmall(int data[], ModifiableDAWGNode node, int currentNodeIndex, int onePastLastCreatedTransitionSetIndex, int compressedNodeSize, CompressedDAWGSet compressed) {
 		int pivotIndex = onePastLastCreatedTransitionSetIndex;
 		node.setTransitionSetBeginIndex(pivotIndex);
 		currentNodeIndex++;
@@ -677,14 +677,14 @@ public class ModifiableDAWGSet extends DAWGSet {
 			//Use the current transition's label and target node to create a CompressedDAWGNode
 			//(which is a space-saving representation of the transition), and insert it in to data
 			char transitionLabelChar = transitionKeyValuePair.getKey();
-			int letterIndex = lettersIndex.get(transitionLabelChar);
+			int letterIndex = compressed.letterIndex(transitionLabelChar);
 			data[currentNodeIndex + (letterIndex >>> 5)] |= 1 << letterIndex;
 			ModifiableDAWGNode transitionTargetNode = transitionKeyValuePair.getValue();
 
 			//If targetTransitionNode's outgoing transition set hasn't been inserted in to data yet, call this method on it to do so.
 			//After this call returns, transitionTargetNode will contain the index in data that its transition set starts from
 			if (transitionTargetNode.getTransitionSetBeginIndex() == -1) {
-				onePastLastCreatedTransitionSetIndex = createCompressedOutgoingTransitionsDataSmall(data, transitionTargetNode, pivotIndex, onePastLastCreatedTransitionSetIndex, compressedNodeSize, lettersIndex);
+				onePastLastCreatedTransitionSetIndex = createCompressedOutgoingTransitionsDataSmall(data, transitionTargetNode, pivotIndex, onePastLastCreatedTransitionSetIndex, compressedNodeSize, compressed);
 			} else {
 				System.arraycopy(transitionTargetNode.getTransitionSetLetters(), 0, data, pivotIndex + 1, compressedNodeSize - 1);
 			}
@@ -746,7 +746,7 @@ public class ModifiableDAWGSet extends DAWGSet {
 		if (sourceNode.isAcceptNode()) {
 			compressed.outgoingData[0] |= CompressedDAWGNode.ACCEPT_NODE_MASK;
 		}
-		createCompressedOutgoingTransitionsDataSmall(compressed.outgoingData, sourceNode, 0, compressedNodeSize, compressedNodeSize, compressed.getLettersIndex());
+		createCompressedOutgoingTransitionsDataSmall(compressed.outgoingData, sourceNode, 0, compressedNodeSize, compressedNodeSize, compressed);
 	}
 
 	private void compressOutgoingLargeAlphabet(CompressedDAWGSet compressed) {
@@ -806,6 +806,7 @@ public class ModifiableDAWGSet extends DAWGSet {
 					stack.addAll(map.values());
 			}
 		}
+		compressed.wrapData();
 		return compressed;
 	}
 
@@ -0,0 +1,19 @@
+package org.quinto.dawg;
+
+/**
+ * Receives the Strings of a DAWGSet one after the other, in ascending order, without a String being created for each
+ * of them.
+ *
+ * @see DAWGSet#visitStrings(StringsVisitor)
+ */
+public interface StringsVisitor {
+	/**
+	 * Visits a String.
+	 *
+	 * @param buffer the chars of the String, at the beginning of the buffer. The buffer is reused for the next Strings:
+	 *               the chars must be copied to be kept, and must not be modified.
+	 * @param length the length of the String
+	 * @return true to go on with the next String, false to stop
+	 */
+	boolean visit(char buffer[], int length);
+}
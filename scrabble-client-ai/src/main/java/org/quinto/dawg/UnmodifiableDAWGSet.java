@@ -285,6 +285,11 @@ class UnmodifiableDAWGSet extends DAWGSet {
 		return new UnmodifiableIterable<String>(delegate.getStringsStartingWith(prefixStr));
 	}
 
+	@Override
+	public boolean visitStringsStartingWith(String prefixStr, StringsVisitor visitor) {
+		return delegate.visitStringsStartingWith(prefixStr, visitor);
+	}
+
 	@Override
 	public Iterable<String> getStringsWithSubstring(String str) {
 		return new UnmodifiableIterable<String>(delegate.getStringsWithSubstring(str));
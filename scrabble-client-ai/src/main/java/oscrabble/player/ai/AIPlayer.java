@@ -20,7 +20,7 @@ public class AIPlayer extends AbstractPlayer {
 
 	public static final Logger LOGGER = LoggerFactory.getLogger(AIPlayer.class);
 
-	private final BruteForceMethod bruteForceMethod;
+	private final AbstractMoveGenerator moveGenerator;
 
 	@Setter
 	Strategy strategy;
@@ -31,6 +31,12 @@ public class AIPlayer extends AbstractPlayer {
 	@Setter
 	Duration throttle;
 
+	/**
+	 * How long to search for a move, for each level. When the time is over, the best move found so far is played.
+	 * No limit for a level without entry.
+	 */
+	private final EnumMap<Level, Duration> timeBudgets = new EnumMap<>(Level.class);
+
 	@Setter @Getter
 	public Level level = Level.MIDDLE;
 
@@ -45,22 +51,25 @@ public class AIPlayer extends AbstractPlayer {
 	/**
 	 * Construct an AI Player.
 	 *
+	 * @param moveGenerator engine calculating the possible moves, p.ex. {@link BruteForceMethod} or {@link GaddagMethod}
 	 * @param game
-	 * @param bruteForceMethod
 	 */
 	public AIPlayer(
-			final BruteForceMethod bruteForceMethod,
+			final AbstractMoveGenerator moveGenerator,
 			final UUID game,
 			final UUID playerId,
 			final ScrabbleServerInterface server
 	) {
 		super("AI");
-		this.bruteForceMethod = bruteForceMethod;
+		this.moveGenerator = moveGenerator;
 		this.game = game;
 		this.uuid = playerId;
 		this.server = server;
-		this.strategy = new Strategy.BestScore(server, game);
+		this.strategy = new Strategy.BestScore();
 		this.throttle = Duration.ofSeconds(0);
+		for (final Level level : Level.values()) {
+			setTimeBudget(level, level.timeBudget);
+		}
 
 		this.daemonThread = new Thread(() -> runDaemonThread());
 		this.daemonThread.setDaemon(true);
@@ -71,10 +80,22 @@ public class AIPlayer extends AbstractPlayer {
 		super("AI Test");
 		this.server = null;
 		this.daemonThread = null;
-		this.bruteForceMethod = null;
+		this.moveGenerator = null;
 		this.game = null;
 	}
 
+	/**
+	 * @param level      the level
+	 * @param timeBudget how long the player searches for a move at this level, {@code null} for no limit
+	 */
+	public void setTimeBudget(final Level level, final Duration timeBudget) {
+		if (timeBudget == null) {
+			this.timeBudgets.remove(level);
+		} else {
+			this.timeBudgets.put(level, timeBudget);
+		}
+	}
+
 	public static AIPlayer createTestMocker() {
 		return new AIPlayer();
 	}
@@ -124,7 +145,7 @@ public class AIPlayer extends AbstractPlayer {
 	 * @throws Exception
 	 */
 	private boolean play(final GameState state) throws Exception {
-		this.bruteForceMethod.setGrid(Grid.fromData(state.getGrid()));
+		this.moveGenerator.setGrid(Grid.fromData(state.getGrid()));
 		final ArrayList<Tile> rack = this.server.getRack(this.game, this.uuid).tiles;
 		if (rack.isEmpty()) {
 			System.out.println("Rack is empty");
@@ -136,14 +157,15 @@ public class AIPlayer extends AbstractPlayer {
 
 		String notation;
 		try {
-			final Set<String> legalMoves = this.bruteForceMethod.getLegalMoves(letters);
-			final TreeMap<Integer, List<String>> valuedWords = this.strategy.sort(legalMoves);
-			if (valuedWords.isEmpty()) {
-				notation = Action.PASS_TURN_NOTATION;
+			if (this.level == Level.VERY_HARD && this.strategy instanceof Strategy.BestScore) {
+				// only the best move is of interest
+				final BestMoves bestMoves = new BestMoves(1);
+				generateMoves(letters, bestMoves);
+				notation = bestMoves.isEmpty()
+						? Action.PASS_TURN_NOTATION
+						: bestMoves.getMoves().get(0).getNotation();
 			} else {
-				Integer selectedValue = (int) (valuedWords.lastKey() * this.level.factor);
-				selectedValue = valuedWords.floorKey(selectedValue);
-				notation = valuedWords.get(selectedValue).get(0);
+				notation = selectMove(letters);
 			}
 		} catch (Throwable e) {
 			throw new Exception("Error finding a word with rack " + letters, e);
@@ -157,20 +179,57 @@ public class AIPlayer extends AbstractPlayer {
 		return false;
 	}
 
+	/**
+	 * Select a move among all legal ones, after the strategy and the level.
+	 *
+	 * @param letters the rack
+	 * @return notation of the selected move
+	 */
+	private String selectMove(final ArrayList<Character> letters) {
+		final ArrayList<Move> legalMoves = new ArrayList<>();
+		generateMoves(letters, legalMoves::add);
+		final TreeMap<Integer, List<Move>> valuedWords = this.strategy.sort(legalMoves);
+		if (valuedWords.isEmpty()) {
+			return Action.PASS_TURN_NOTATION;
+		}
+
+		Integer selectedValue = (int) (valuedWords.lastKey() * this.level.factor);
+		selectedValue = valuedWords.floorKey(selectedValue);
+		return selectedValue == null
+				? Action.PASS_TURN_NOTATION
+				: valuedWords.get(selectedValue).get(0).getNotation();
+	}
+
+	/**
+	 * Generate the moves in the time budget of the level.
+	 */
+	private void generateMoves(final ArrayList<Character> letters, final MoveConsumer consumer) {
+		final Duration timeBudget = this.timeBudgets.get(this.level);
+		if (!this.moveGenerator.generateMoves(letters, consumer, timeBudget)) {
+			LOGGER.info("Search of " + this.uuid + " stopped after " + timeBudget.toMillis() + " ms");
+		}
+	}
+
 	/**
 	 * Difficulty level of an AI player
 	 */
 	public enum Level {
-		VERY_SIMPLE(0.4f),
-		SIMPLE(0.6f),
-		MIDDLE(0.7f),
-		HARD(0.8f),
-		VERY_HARD(1);
+		VERY_SIMPLE(0.4f, Duration.ofSeconds(1)),
+		SIMPLE(0.6f, Duration.ofSeconds(1)),
+		MIDDLE(0.7f, Duration.ofSeconds(2)),
+		HARD(0.8f, Duration.ofSeconds(5)),
+		VERY_HARD(1, null);
 
 		private final float factor;
 
-		Level(final float factor) {
+		/**
+		 * Default time budget of the search, {@code null} for no limit
+		 */
+		private final Duration timeBudget;
+
+		Level(final float factor, final Duration timeBudget) {
 			this.factor = factor;
+			this.timeBudget = timeBudget;
 		}
 	}
 }
@@ -0,0 +1,865 @@
+package oscrabble.player.ai;
+
+import org.apache.commons.io.FileUtils;
+import org.quinto.dawg.CompressedDAWGSet;
+import org.quinto.dawg.CompressedDAWGSetBuilder;
+import org.quinto.dawg.DAWGNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import oscrabble.data.Action;
+import oscrabble.ScrabbleConstants;
+import oscrabble.data.IDictionary;
+import oscrabble.data.ScrabbleRules;
+import oscrabble.data.objects.Grid;
+import oscrabble.data.objects.Square;
+
+import java.io.IOError;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Engine calculating the moves an AI player can play.
+ */
+public abstract class AbstractMoveGenerator implements AutoCloseable {
+	private final static Logger LOGGER = LoggerFactory.getLogger(AbstractMoveGenerator.class);
+
+	/**
+	 * The grid, to update after each round
+	 */
+	Grid grid;
+
+	/**
+	 * Bonus for a move using all the tiles of a full rack
+	 */
+	static final int SCRABBLE_BONUS = 50;
+
+	/**
+	 * Points of the letters, indexed by {@code letter - 'A'}
+	 */
+	final int[] letterPoints = new int['Z' - 'A' + 1];
+
+	/**
+	 * The indexes {@code letter - 'A'} of the letters, the most valuable first
+	 */
+	final int[] lettersByPoints = new int['Z' - 'A' + 1];
+
+	/**
+	 * Bits of the letters of the automaton of the generator, by index in its alphabet.
+	 * See {@link CrossChecks#getLetterBits(org.quinto.dawg.DAWGSet)}
+	 */
+	int[] letterBits;
+
+	/**
+	 * Automata got from the {@link AutomatonRegistry}, to release on {@link #close()}
+	 */
+	private final List<CompressedDAWGSet> automata = new ArrayList<>();
+
+	/**
+	 * Classpath directory of the precompiled automata
+	 */
+	static final String AUTOMATA_RESOURCES = "/oscrabble/automata/";
+
+	/**
+	 * Where the automata loaded from now on are held. Mapped by default, so that the processes using the same automaton
+	 * share it; the system property {@code oscrabble.automaton.storage} gives another default.
+	 */
+	private static volatile CompressedDAWGSet.Storage automatonStorage = CompressedDAWGSet.Storage.valueOf(
+			System.getProperty("oscrabble.automaton.storage", CompressedDAWGSet.Storage.MAPPED.name())
+	);
+
+	/**
+	 * Number of anchors under which a parallel task is not split anymore.
+	 */
+	private static final int ANCHORS_PER_TASK = 4;
+
+	/**
+	 * Calculate the moves of the anchors in parallel
+	 */
+	private boolean parallel;
+
+	/**
+	 * Analysis of the grid, kept from one calculation to the next one
+	 */
+	private BoardAnalysis analysis;
+
+	public void setGrid(final Grid grid) {
+		this.grid = grid;
+	}
+
+	/**
+	 * Read the points of the letters from the rules.
+	 */
+	void loadLetterPoints(final ScrabbleRules rules) {
+		rules.getLetters().forEach((c, letter) -> {
+			if (c >= 'A' && c <= 'Z') {
+				this.letterPoints[c - 'A'] = letter.getPoints();
+			}
+		});
+		final Integer[] letters = new Integer[this.letterPoints.length];
+		Arrays.setAll(letters, i -> i);
+		Arrays.sort(letters, (a, b) -> this.letterPoints[b] - this.letterPoints[a]);
+		Arrays.setAll(this.lettersByPoints, i -> letters[i]);
+	}
+
+	/**
+	 * @param parallel if the anchors are to be distributed in fork/join tasks over the threads of the common pool.
+	 */
+	public void setParallel(final boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Get all authorized moves, passing excepted.
+	 *
+	 * @param rack     Rack
+	 * @param consumer receives the moves as soon as they are found. In parallel mode, they are passed after the
+	 *                 calculation, in the calling thread. The parts of the search which cannot reach its
+	 *                 {@link MoveConsumer#getMinimumScore() minimum score} are skipped.
+	 */
+	public void generateMoves(final Collection<Character> rack, final MoveConsumer consumer) {
+		generateMoves(rack, consumer, null);
+	}
+
+	/**
+	 * Get the authorized moves found in a given time. With a time budget, the most promising anchors - the ones
+	 * whose moves can reach the highest scores, after the bonus squares and the free squares around them - are
+	 * calculated first, so that the best moves are likely to be found when the time is over.
+	 *
+	 * @param rack       Rack
+	 * @param consumer   receives the moves, see {@link #generateMoves(Collection, MoveConsumer)}
+	 * @param timeBudget time after which the search stops, {@code null} for no limit
+	 * @return if the search has been completed, {@code false} if it has been stopped by the time budget
+	 */
+	public abstract boolean generateMoves(final Collection<Character> rack, final MoveConsumer consumer, final Duration timeBudget);
+
+	/**
+	 * Get all authorized moves.
+	 *
+	 * @param rack Rack
+	 * @return the notations of all the moves
+	 */
+	public Set<String> getLegalMoves(final Collection<Character> rack) {
+		final Set<String> legalPlayTiles = new LinkedHashSet<>();
+		legalPlayTiles.add(Action.PASS_TURN_NOTATION);
+		generateMoves(rack, move -> legalPlayTiles.add(move.getNotation()));
+		LOGGER.debug(legalPlayTiles.size() + " legal moves calculated");
+		return legalPlayTiles;
+	}
+
+	Set<Square> getAnchors() {
+		if (this.grid.isEmpty()) {
+			throw new IllegalStateException("Cannot get anchors on an empty grid.");
+		}
+
+		return new LinkedHashSet<>(analyse().getAnchors());
+	}
+
+	/**
+	 * @return new cross-checks reading the automaton of this generator
+	 */
+	abstract CrossChecks createCrossChecks();
+
+	/**
+	 * @return the analysis of the grid, brought up to date
+	 */
+	BoardAnalysis analyse() {
+		if (this.analysis == null) {
+			this.analysis = new BoardAnalysis(createCrossChecks());
+		}
+		this.analysis.update(this.grid);
+		return this.analysis;
+	}
+
+	/**
+	 * Run the calculation of each anchor. In parallel mode, the anchors are split in fork/join tasks, each of them with
+	 * its own context, and all cross-checks are calculated before forking.
+	 *
+	 * @param anchors        the anchors
+	 * @param crossChecks    the cross-checks the calculations read
+	 * @param consumer       receives the found moves
+	 * @param timeBudget     time after which the calculation stops, {@code null} for no limit
+	 * @param contextFactory creates a new context passing the moves to the given consumer
+	 * @param calculation    calculation of the moves of an anchor in a context
+	 * @param <C>            type of the context
+	 * @return if all anchors have been calculated
+	 */
+	<C extends CalculateCtx> boolean calculateAnchors(
+			final List<Square> anchors,
+			final CrossChecks crossChecks,
+			final MoveConsumer consumer,
+			final Duration timeBudget,
+			final Function<MoveConsumer, C> contextFactory,
+			final BiConsumer<C, Square> calculation
+	) {
+		final long start = System.nanoTime();
+		final Function<MoveConsumer, C> factory;
+		final List<Square> orderedAnchors;
+		if (timeBudget == null) {
+			factory = contextFactory;
+			orderedAnchors = anchors;
+		} else {
+			final long deadline = start + timeBudget.toNanos();
+			factory = moveConsumer -> {
+				final C ctx = contextFactory.apply(moveConsumer);
+				ctx.setDeadline(deadline);
+				return ctx;
+			};
+			orderedAnchors = sortByPotential(anchors, contextFactory.apply(consumer));
+		}
+
+		final boolean completed;
+		if (!this.parallel) {
+			final C ctx = factory.apply(consumer);
+			calculate(ctx, orderedAnchors, calculation);
+			completed = !ctx.isTimeOver();
+		} else {
+			crossChecks.calculateAll();
+			final int bestMovesCapacity = consumer instanceof BestMoves ? ((BestMoves) consumer).getCapacity() : 0;
+			final AtomicBoolean timeOver = new AtomicBoolean();
+			ForkJoinPool.commonPool()
+					.invoke(new AnchorTask<>(orderedAnchors, bestMovesCapacity, factory, calculation, timeOver))
+					.forEach(consumer::accept);
+			completed = !timeOver.get();
+		}
+
+		if (!completed) {
+			LOGGER.debug("Calculation stopped after " + (System.nanoTime() - start) / 1_000_000 + " ms");
+		}
+		return completed;
+	}
+
+	/**
+	 * Calculate the anchors one after the other, as long as the time is not over.
+	 */
+	private static <C extends CalculateCtx> void calculate(final C ctx, final List<Square> anchors, final BiConsumer<C, Square> calculation) {
+		for (final Square anchor : anchors) {
+			if (ctx.checkDeadline()) {
+				return;
+			}
+			calculation.accept(ctx, anchor);
+		}
+	}
+
+	/**
+	 * @param anchors the anchors
+	 * @param ctx     a context, to calculate the score bounds with
+	 * @return the anchors, the ones whose moves can get the highest score bound first
+	 * @see CalculateCtx#getScoreBound(Grid, Square, Square)
+	 */
+	private List<Square> sortByPotential(final List<Square> anchors, final CalculateCtx ctx) {
+		final Map<Square, Integer> potentials = new HashMap<>();
+		for (final Square anchor : anchors) {
+			int potential = Integer.MIN_VALUE;
+			for (final Grid.Direction direction : Grid.Direction.values()) {
+				ctx.direction = direction;
+				ctx.wordLength = 0;
+				potential = Math.max(potential, ctx.getScoreBound(this.grid, this.grid.getPrevious(anchor, direction), anchor));
+			}
+			potentials.put(anchor, potential);
+		}
+		final List<Square> sorted = new ArrayList<>(anchors);
+		sorted.sort(Comparator.comparing(potentials::get).reversed());
+		return sorted;
+	}
+
+	/**
+	 * Task calculating the moves of a sublist of anchors.
+	 */
+	private static class AnchorTask<C extends CalculateCtx> extends RecursiveTask<List<Move>> {
+		private final List<Square> anchors;
+
+		/**
+		 * If positive, number of best moves each task keeps, as the {@link BestMoves} the moves are finally passed to.
+		 */
+		private final int bestMovesCapacity;
+
+		private final Function<MoveConsumer, C> contextFactory;
+		private final BiConsumer<C, Square> calculation;
+
+		/**
+		 * Set by the tasks stopped by the time budget
+		 */
+		private final AtomicBoolean timeOver;
+
+		AnchorTask(final List<Square> anchors, final int bestMovesCapacity, final Function<MoveConsumer, C> contextFactory, final BiConsumer<C, Square> calculation, final AtomicBoolean timeOver) {
+			this.anchors = anchors;
+			this.bestMovesCapacity = bestMovesCapacity;
+			this.contextFactory = contextFactory;
+			this.calculation = calculation;
+			this.timeOver = timeOver;
+		}
+
+		@Override
+		protected List<Move> compute() {
+			if (this.anchors.size() <= ANCHORS_PER_TASK) {
+				if (this.bestMovesCapacity > 0) {
+					final BestMoves bestMoves = new BestMoves(this.bestMovesCapacity);
+					compute(this.contextFactory.apply(bestMoves));
+					return bestMoves.getMoves();
+				}
+
+				final ArrayList<Move> moves = new ArrayList<>();
+				compute(this.contextFactory.apply(moves::add));
+				return moves;
+			}
+
+			final int middle = this.anchors.size() / 2;
+			final AnchorTask<C> left = new AnchorTask<>(this.anchors.subList(0, middle), this.bestMovesCapacity, this.contextFactory, this.calculation, this.timeOver);
+			final AnchorTask<C> right = new AnchorTask<>(this.anchors.subList(middle, this.anchors.size()), this.bestMovesCapacity, this.contextFactory, this.calculation, this.timeOver);
+			left.fork();
+			final List<Move> rightMoves = right.compute();
+			final List<Move> moves = new ArrayList<>(left.join());
+			moves.addAll(rightMoves);
+			return moves;
+		}
+
+		private void compute(final C ctx) {
+			calculate(ctx, this.anchors, this.calculation);
+			if (ctx.isTimeOver()) {
+				this.timeOver.set(true);
+			}
+		}
+	}
+
+	/**
+	 * Find how many existing tiles a move using all the tiles of a full rack has at least to contain: 0 if the tiles
+	 * of the rack make a word, otherwise 1.
+	 *
+	 * @param automaton automaton of the generator. The entries are the words, or the reversed words.
+	 * @param rack       the rack
+	 * @return the number of tiles, {@link Integer#MAX_VALUE} if the rack is not full.
+	 */
+	static int getBingoBoardTiles(final CompressedDAWGSet automaton, final Rack rack) {
+		if (rack.size() != ScrabbleConstants.RACK_SIZE) {
+			return Integer.MAX_VALUE;
+		}
+		return containsAnagram(automaton, DAWGNode.START, rack) ? 0 : 1;
+	}
+
+	/**
+	 * @return if, from the node, a word is made of all the tiles of the rack.
+	 */
+	private static boolean containsAnagram(final CompressedDAWGSet automaton, final int node, final Rack rack) {
+		if (rack.size() == 0) {
+			return automaton.isAccept(node);
+		}
+
+		for (char letter = 'A'; letter <= 'Z'; letter++) {
+			// a blank needs not to be tried for a letter of the rack
+			final boolean own = rack.has(letter);
+			if (!own && !rack.hasBlank()) {
+				continue;
+			}
+			final int nextNode = automaton.child(node, letter);
+			if (nextNode == DAWGNode.EMPTY) {
+				continue;
+			}
+
+			final boolean found;
+			if (own) {
+				rack.take(letter);
+				found = containsAnagram(automaton, nextNode, rack);
+				rack.putBack(letter);
+			} else {
+				rack.takeBlank();
+				found = containsAnagram(automaton, nextNode, rack);
+				rack.putBackBlank();
+			}
+			if (found) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Load an automaton from the temporary directory. If it is not there yet, it is copied from the automata
+	 * precompiled in the {@link #AUTOMATA_RESOURCES classpath}, or built for a dictionary which has not been
+	 * precompiled, and stored there for the next time. Words with one letter are not part of the automaton. The file
+	 * is read into the {@link #setAutomatonStorage storage} in use. Within a process, the generators get it from the
+	 * {@link AutomatonRegistry}.
+	 *
+	 * @param fileName   name of the file, see {@link AutomatonRegistry#getFileName}
+	 * @param dictionary the dictionary
+	 * @param entries    function giving the strings to store in the automaton for the words of the dictionary, in
+	 *                   ascending order if the words are
+	 * @return the automaton
+	 * @throws IllegalArgumentException if the alphabet has more than 64 letters: the generators hold sets of letters
+	 *                                  in the bits of a long, see {@link CompressedDAWGSet#edgeMask(int)}
+	 */
+	static CompressedDAWGSet loadAutomaton(
+			final String fileName,
+			final IDictionary dictionary,
+			final Function<Collection<String>, Iterable<String>> entries
+	) {
+		final CompressedDAWGSet automaton = readAutomaton(fileName, dictionary, entries);
+		final int letters = automaton.getAlphabet().size();
+		if (letters > Long.SIZE) {
+			throw new IllegalArgumentException("Automaton " + fileName + " has " + letters + " letters, at most " + Long.SIZE + " are supported");
+		}
+		return automaton;
+	}
+
+	/**
+	 * See {@link #loadAutomaton}
+	 */
+	private static CompressedDAWGSet readAutomaton(
+			final String fileName,
+			final IDictionary dictionary,
+			final Function<Collection<String>, Iterable<String>> entries
+	) {
+		final Path file = FileUtils.getTempDirectory().toPath().resolve(fileName);
+		if (Files.exists(file)) {
+			try {
+				return CompressedDAWGSet.read(file, automatonStorage);
+			} catch (final IOException e) {
+				LOGGER.warn("Cannot read " + file + ", the automaton is built again: " + e);
+			}
+		}
+
+		try {
+			try (InputStream precompiled = AbstractMoveGenerator.class.getResourceAsStream(AUTOMATA_RESOURCES + fileName)) {
+				if (precompiled != null) {
+					LOGGER.info("Use precompiled automaton " + fileName);
+					replace(file, tempFile -> Files.copy(precompiled, tempFile, StandardCopyOption.REPLACE_EXISTING));
+					return CompressedDAWGSet.read(file, automatonStorage);
+				}
+			}
+
+			writeAutomaton(file, dictionary.getAdmissibleWords(), entries);
+			return CompressedDAWGSet.read(file, automatonStorage);
+		} catch (final IOException e) {
+			throw new IOError(e);
+		}
+	}
+
+	/**
+	 * Set where the automata are held. By default, the file of an automaton is mapped in memory: it stays out of the
+	 * heap, and the processes using the same automaton share one copy of it. The automata already loaded are not
+	 * affected.
+	 *
+	 * @param storage the storage
+	 */
+	public static void setAutomatonStorage(final CompressedDAWGSet.Storage storage) {
+		automatonStorage = Objects.requireNonNull(storage);
+	}
+
+	/**
+	 * Build the automaton of a dictionary and store it in a directory, under the name {@link #loadAutomaton} looks for
+	 * in the {@link #AUTOMATA_RESOURCES precompiled automata}. Nothing is done if the file already exists.
+	 *
+	 * @param filePrefix prefix of the file name, one for each kind of automaton
+	 * @param dictionary the dictionary
+	 * @param entries    function giving the strings to store in the automaton for the words of the dictionary, in
+	 *                   ascending order if the words are
+	 * @param directory  the directory
+	 * @return the file
+	 * @throws IOException on write error
+	 */
+	static Path precompileAutomaton(
+			final String filePrefix,
+			final IDictionary dictionary,
+			final Function<Collection<String>, Iterable<String>> entries,
+			final Path directory
+	) throws IOException {
+		final Path file = directory.resolve(AutomatonRegistry.getFileName(filePrefix, dictionary));
+		if (!Files.exists(file)) {
+			writeAutomaton(file, dictionary.getAdmissibleWords(), entries);
+		}
+		return file;
+	}
+
+	/**
+	 * Get an automaton from the {@link AutomatonRegistry}. It is released when this generator is {@link #close closed}.
+	 *
+	 * @param filePrefix prefix of the file name, one for each kind of automaton
+	 * @param dictionary the dictionary
+	 * @param entries    function giving the strings to store in the automaton for the words of the dictionary, in
+	 *                   ascending order if the words are
+	 * @return the automaton
+	 */
+	CompressedDAWGSet acquireAutomaton(
+			final String filePrefix,
+			final IDictionary dictionary,
+			final Function<Collection<String>, Iterable<String>> entries
+	) {
+		final CompressedDAWGSet automaton = AutomatonRegistry.acquire(filePrefix, dictionary, entries);
+		this.automata.add(automaton);
+		return automaton;
+	}
+
+	/**
+	 * Release the automata of this generator. It cannot be used anymore afterwards.
+	 */
+	@Override
+	public void close() {
+		this.automata.forEach(AutomatonRegistry::release);
+		this.automata.clear();
+	}
+
+	/**
+	 * Build an automaton and write it in a file. The entries are given in ascending order to a streaming builder, which
+	 * minimizes the automaton while reading them.
+	 *
+	 * @param admissibleWords the words. The ones with one letter are ignored.
+	 */
+	private static void writeAutomaton(
+			final Path file,
+			final Collection<String> admissibleWords,
+			final Function<Collection<String>, Iterable<String>> entries
+	) throws IOException {
+		final SortedSet<String> words = new TreeSet<>();
+		for (final String word : admissibleWords) {
+			if (word.length() > 1) {
+				words.add(word);
+			}
+		}
+		final CompressedDAWGSetBuilder builder = new CompressedDAWGSetBuilder();
+		builder.addAll(entries.apply(words));
+		final CompressedDAWGSet automaton = builder.build();
+		replace(file, automaton::write);
+	}
+
+	/**
+	 * Replace a file at once, as another process may be reading it: the content is written in a temporary file first.
+	 *
+	 * @param file   the file
+	 * @param writer writes the content in a file
+	 */
+	private static void replace(final Path file, final ContentWriter writer) throws IOException {
+		final Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+		try {
+			writer.write(tempFile);
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * Writes the content of a file
+	 */
+	private interface ContentWriter {
+		void write(Path file) throws IOException;
+	}
+
+	/**
+	 * State of a calculation. It holds the word being built and the score of each of its beginnings.
+	 */
+	static class CalculateCtx {
+		Grid.Direction direction;
+		Square anchor;
+
+		Rack rack;
+
+		/**
+		 * Number of tiles on the rack before the move
+		 */
+		int rackSize;
+
+		MoveConsumer consumer;
+
+		CrossChecks crossChecks;
+
+		int[] letterPoints;
+
+		/**
+		 * See {@link AbstractMoveGenerator#lettersByPoints}
+		 */
+		int[] lettersByPoints;
+
+		/**
+		 * The word being built, blanks as lowercase letters.
+		 */
+		final char[] word = new char[Grid.GRID_SIZE];
+		int wordLength;
+
+		/**
+		 * For each length {@code i} of the word: sum of the points of its {@code i} first letters, letter bonus
+		 * included, the product of the word bonus of the squares of the new tiles, and the scores of the cross words.
+		 */
+		private final int[] letterScores = new int[Grid.GRID_SIZE + 1];
+		private final int[] wordFactors = new int[Grid.GRID_SIZE + 1];
+		private final int[] crossWordScores = new int[Grid.GRID_SIZE + 1];
+
+		/**
+		 * Buffers of the calculation of the score bound. For the rack: sum of the points of the {@code k} most valuable
+		 * tiles. For each side of the word, if {@code k} tiles are laid on it: points of the existing tiles, product of
+		 * the word bonus, number of squares with triple and with double letter bonus and bound of the cross scores.
+		 */
+		private final int[] bestTilePoints = new int[Grid.GRID_SIZE + 1];
+		private final int[][] sideTilePoints = new int[2][Grid.GRID_SIZE + 1];
+		private final int[][] sideWordFactors = new int[2][Grid.GRID_SIZE + 1];
+		private final int[][] sideTripleLetters = new int[2][Grid.GRID_SIZE + 1];
+		private final int[][] sideDoubleLetters = new int[2][Grid.GRID_SIZE + 1];
+		private final int[][] sideCrossScores = new int[2][Grid.GRID_SIZE + 1];
+		private final int[][] sideTiles = new int[2][Grid.GRID_SIZE + 1];
+
+		/**
+		 * Minimal number of existing tiles a move using all tiles of the rack has to contain.
+		 * {@link Integer#MAX_VALUE} if there is no such move.
+		 * @see AbstractMoveGenerator#getBingoBoardTiles(CompressedDAWGSet, Rack)
+		 */
+		int bingoBoardTiles;
+
+		/**
+		 * Value of {@link System#nanoTime()} at which the calculation stops, if {@link #limited}.
+		 */
+		private long deadline;
+		private boolean limited;
+		private boolean timeOver;
+
+		/**
+		 * Number of checks of the deadline, the clock being read once in {@link #CLOCK_PERIOD} checks only
+		 */
+		private int deadlineChecks;
+		private static final int CLOCK_PERIOD = 256;
+
+		CalculateCtx() {
+			this.wordFactors[0] = 1;
+		}
+
+		/**
+		 * @param deadline value of {@link System#nanoTime()} at which the calculation is to stop
+		 */
+		void setDeadline(final long deadline) {
+			this.deadline = deadline;
+			this.limited = true;
+		}
+
+		/**
+		 * Check if the time is over, reading the clock.
+		 *
+		 * @return if the calculation has to stop
+		 */
+		boolean checkDeadline() {
+			if (this.limited && !this.timeOver) {
+				this.timeOver = System.nanoTime() - this.deadline >= 0;
+			}
+			return this.timeOver;
+		}
+
+		/**
+		 * Check if the time is over. Called at each node of the search, it reads the clock only from time to time.
+		 *
+		 * @return if the calculation has to stop
+		 */
+		boolean pollDeadline() {
+			return this.limited && (this.timeOver || (++this.deadlineChecks % CLOCK_PERIOD == 0 && checkDeadline()));
+		}
+
+		/**
+		 * @return if the calculation has been stopped because the time was over
+		 */
+		boolean isTimeOver() {
+			return this.timeOver;
+		}
+
+		/**
+		 * Add a letter to the word.
+		 *
+		 * @param c      the letter, lowercase for a blank
+		 * @param square the square of the letter: either an empty one, or the one of an existing tile.
+		 */
+		void push(final char c, final Square square) {
+			this.word[this.wordLength] = c;
+			score(this.wordLength, square);
+			this.wordLength++;
+		}
+
+		/**
+		 * Add a letter of the rack whose square is not known yet. The scores are to be calculated with
+		 * {@link #place(Grid, Square)} before the word is completed.
+		 *
+		 * @param c the letter, lowercase for a blank
+		 */
+		void pushUnplaced(final char c) {
+			this.word[this.wordLength++] = c;
+		}
+
+		/**
+		 * Remove the last letter of the word.
+		 */
+		void pop() {
+			this.wordLength--;
+		}
+
+		/**
+		 * Calculate the scores of all letters of the word.
+		 *
+		 * @param grid        the grid
+		 * @param firstSquare square of the first letter
+		 */
+		void place(final Grid grid, final Square firstSquare) {
+			Square square = firstSquare;
+			for (int i = 0; i < this.wordLength; i++) {
+				score(i, square);
+				square = grid.getNext(square, this.direction);
+			}
+		}
+
+		private void score(final int position, final Square square) {
+			if (!square.isEmpty()) {
+				this.letterScores[position + 1] = this.letterScores[position] + square.tile.points;
+				this.wordFactors[position + 1] = this.wordFactors[position];
+				this.crossWordScores[position + 1] = this.crossWordScores[position];
+				return;
+			}
+
+			final char c = this.word[position];
+			final int letterScore = Character.isLowerCase(c) ? 0 : this.letterPoints[c - 'A'] * square.letterBonus;
+			final int crossScore = this.crossChecks.getCrossScore(square, this.direction.other());
+			this.letterScores[position + 1] = this.letterScores[position] + letterScore;
+			this.wordFactors[position + 1] = this.wordFactors[position] * square.wordBonus;
+			this.crossWordScores[position + 1] = this.crossWordScores[position]
+					+ (crossScore == CrossChecks.NO_CROSS_WORD ? 0 : (crossScore + letterScore) * square.wordBonus);
+		}
+
+		/**
+		 * The generators check it once for each anchor and direction: deeper in the search, the check would cost
+		 * more than the nodes it spares.
+		 *
+		 * @return if the moves completing the current word can reach the minimum score of the consumer
+		 * @see #getScoreBound(Grid, Square, Square)
+		 */
+		boolean isPromising(final Grid grid, final Square left, final Square right) {
+			final int minimumScore = this.consumer.getMinimumScore();
+			return minimumScore == Integer.MIN_VALUE || getScoreBound(grid, left, right) >= minimumScore;
+		}
+
+		/**
+		 * Calculate an upper bound of the scores of the moves completing the current word, whose scores must have
+		 * been calculated. The tiles of the rack are laid on the free squares following each other on both sides of
+		 * the word, up to a square no letter is allowed on. For each number of tiles on each side, the bound supposes
+		 * the most valuable tiles of the rack on the best letter bonus, and each cross word made with the most
+		 * valuable tile it allows.
+		 *
+		 * @param grid  the grid
+		 * @param left  the square before the word, {@code null} if the word cannot grow on this side
+		 * @param right the square after the word, {@code null} if the word cannot grow on this side
+		 * @return the bound
+		 */
+		int getScoreBound(final Grid grid, final Square left, final Square right) {
+			final int tiles = this.rack.size();
+			this.rack.getBestPoints(this.lettersByPoints, this.letterPoints, this.bestTilePoints);
+			final int leftMax = scanSide(grid, left, false, tiles);
+			final int rightMax = scanSide(grid, right, true, tiles);
+
+			final int[] best = this.bestTilePoints;
+			final int letterScore = this.letterScores[this.wordLength];
+			final int wordFactor = this.wordFactors[this.wordLength];
+			final int crossWordScore = this.crossWordScores[this.wordLength];
+			final int existingTiles = this.wordLength - getTileCount();
+			int bound = Integer.MIN_VALUE;
+			for (int l = 0; l <= leftMax; l++) {
+				for (int r = 0; r <= rightMax && l + r <= tiles; r++) {
+					final int laid = l + r;
+					final int triple = this.sideTripleLetters[0][l] + this.sideTripleLetters[1][r];
+					final int doubleOrTriple = triple + this.sideDoubleLetters[0][l] + this.sideDoubleLetters[1][r];
+					int score = (letterScore + this.sideTilePoints[0][l] + this.sideTilePoints[1][r] + best[laid] + best[doubleOrTriple] + best[triple])
+							* wordFactor * this.sideWordFactors[0][l] * this.sideWordFactors[1][r]
+							+ crossWordScore + this.sideCrossScores[0][l] + this.sideCrossScores[1][r];
+					if (laid == tiles && existingTiles + this.sideTiles[0][l] + this.sideTiles[1][r] >= this.bingoBoardTiles) {
+						score += SCRABBLE_BONUS;
+					}
+					bound = Math.max(bound, score);
+				}
+			}
+			return bound;
+		}
+
+		/**
+		 * Fill the buffers of a side for the calculation of the score bound.
+		 *
+		 * @param start   first square of the side, {@code null} for none
+		 * @param forward if the side is read forward
+		 * @param tiles   number of tiles on the rack
+		 * @return the maximal number of tiles the side can receive
+		 */
+		private int scanSide(final Grid grid, final Square start, final boolean forward, final int tiles) {
+			final int side = forward ? 1 : 0;
+			final int[] tilePoints = this.sideTilePoints[side];
+			final int[] wordFactors = this.sideWordFactors[side];
+			final int[] tripleLetters = this.sideTripleLetters[side];
+			final int[] doubleLetters = this.sideDoubleLetters[side];
+			final int[] crossScores = this.sideCrossScores[side];
+			final int[] existingTiles = this.sideTiles[side];
+			tilePoints[0] = 0;
+			existingTiles[0] = 0;
+			wordFactors[0] = 1;
+			tripleLetters[0] = 0;
+			doubleLetters[0] = 0;
+			crossScores[0] = 0;
+
+			final Grid.Direction crossDirection = this.direction.other();
+			int laid = 0;
+			for (Square square = start; square != null && !square.isBorder(); square = forward ? grid.getNext(square, this.direction) : grid.getPrevious(square, this.direction)) {
+				if (!square.isEmpty()) {
+					tilePoints[laid] += square.tile.points;
+					existingTiles[laid]++;
+					continue;
+				}
+				if (laid == tiles) {
+					break;
+				}
+				final int allowedLetters = this.crossChecks.get(square, crossDirection) & this.rack.getLetterMask();
+				if (allowedLetters == 0 && !this.rack.hasBlank()) {
+					break;
+				}
+
+				laid++;
+				tilePoints[laid] = tilePoints[laid - 1];
+				existingTiles[laid] = existingTiles[laid - 1];
+				wordFactors[laid] = wordFactors[laid - 1] * square.wordBonus;
+				tripleLetters[laid] = tripleLetters[laid - 1] + (square.letterBonus == 3 ? 1 : 0);
+				doubleLetters[laid] = doubleLetters[laid - 1] + (square.letterBonus == 2 ? 1 : 0);
+				final int crossScore = this.crossChecks.getCrossScore(square, crossDirection);
+				crossScores[laid] = crossScores[laid - 1]
+						+ (crossScore == CrossChecks.NO_CROSS_WORD ? 0 : (crossScore + getMaxPoints(allowedLetters) * square.letterBonus) * square.wordBonus);
+			}
+			return laid;
+		}
+
+		/**
+		 * @param letters mask of letters, bit {@code n} standing for {@code 'A' + n}
+		 * @return the highest points of the letters
+		 */
+		private int getMaxPoints(int letters) {
+			int max = 0;
+			while (letters != 0) {
+				max = Math.max(max, this.letterPoints[Integer.numberOfTrailingZeros(letters)]);
+				letters &= letters - 1;
+			}
+			return max;
+		}
+
+		/**
+		 * @return the number of tiles taken from the rack
+		 */
+		int getTileCount() {
+			return this.rackSize - this.rack.size();
+		}
+
+		/**
+		 * @return the score of the move made of the current word
+		 */
+		int getScore() {
+			final int length = this.wordLength;
+			int score = this.letterScores[length] * this.wordFactors[length] + this.crossWordScores[length];
+			if (getTileCount() == ScrabbleConstants.RACK_SIZE) {
+				score += SCRABBLE_BONUS;
+			}
+			return score;
+		}
+	}
+}
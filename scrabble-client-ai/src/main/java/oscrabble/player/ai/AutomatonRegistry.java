@@ -0,0 +1,132 @@
+package oscrabble.player.ai;
+
+import org.quinto.dawg.CompressedDAWGSet;
+import oscrabble.data.IDictionary;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Automata shared by all the generators of the JVM: one automaton for each kind of automaton and each dictionary. It
+ * is loaded by the first generator needing it, and dropped when the last one using it is closed. The automata are
+ * read-only once loaded, and handed over under the lock of the registry: the generators can read them from any thread
+ * without synchronization.
+ */
+final class AutomatonRegistry {
+
+	/**
+	 * Fingerprints of the dictionaries, kept as long as the dictionaries are in use
+	 */
+	private static final Map<IDictionary, Integer> FINGERPRINTS = new WeakHashMap<>();
+
+	/**
+	 * Automata in use, by file name
+	 */
+	private static final Map<String, Entry> ENTRIES = new HashMap<>();
+
+	private AutomatonRegistry() {
+	}
+
+	/**
+	 * Get an automaton, and keep it loaded till it is {@link #release released}.
+	 *
+	 * @param filePrefix prefix of the file name, one for each kind of automaton
+	 * @param dictionary the dictionary
+	 * @param entries    function giving the strings to store in the automaton for the words of the dictionary
+	 * @return the automaton, the same for all generators using the same kind of automaton and the same words
+	 */
+	static CompressedDAWGSet acquire(
+			final String filePrefix,
+			final IDictionary dictionary,
+			final Function<Collection<String>, Iterable<String>> entries
+	) {
+		final String fileName = getFileName(filePrefix, dictionary);
+		final Entry entry;
+		synchronized (ENTRIES) {
+			entry = ENTRIES.computeIfAbsent(fileName, k -> new Entry());
+			entry.references++;
+		}
+
+		// the automaton is loaded outside the lock of the registry, so that the other automata stay available meanwhile
+		try {
+			synchronized (entry) {
+				if (entry.automaton == null) {
+					entry.automaton = AbstractMoveGenerator.loadAutomaton(fileName, dictionary, entries);
+				}
+				return entry.automaton;
+			}
+		} catch (final RuntimeException | Error e) {
+			release(fileName, entry);
+			throw e;
+		}
+	}
+
+	/**
+	 * Release an automaton got by {@link #acquire}. It is dropped when no generator uses it anymore.
+	 *
+	 * @param automaton the automaton
+	 */
+	static void release(final CompressedDAWGSet automaton) {
+		synchronized (ENTRIES) {
+			for (final Map.Entry<String, Entry> e : ENTRIES.entrySet()) {
+				if (e.getValue().automaton == automaton) {
+					release(e.getKey(), e.getValue());
+					return;
+				}
+			}
+		}
+		throw new IllegalArgumentException("Automaton not registered");
+	}
+
+	private static void release(final String fileName, final Entry entry) {
+		synchronized (ENTRIES) {
+			if (--entry.references == 0) {
+				ENTRIES.remove(fileName);
+			}
+		}
+	}
+
+	/**
+	 * @return the name of the file of an automaton. It is made of a fingerprint of the words.
+	 */
+	static String getFileName(final String filePrefix, final IDictionary dictionary) {
+		return filePrefix + getFingerprint(dictionary) + ".dawg";
+	}
+
+	/**
+	 * @return the hash code of the set of the admissible words of a dictionary. It is calculated once for each
+	 * dictionary.
+	 */
+	private static int getFingerprint(final IDictionary dictionary) {
+		synchronized (FINGERPRINTS) {
+			return FINGERPRINTS.computeIfAbsent(dictionary, d -> {
+				final Collection<String> words = d.getAdmissibleWords();
+				return (words instanceof Set ? words : new HashSet<>(words)).hashCode();
+			});
+		}
+	}
+
+	/**
+	 * Number of generators using an automaton
+	 */
+	static int getReferenceCount(final CompressedDAWGSet automaton) {
+		synchronized (ENTRIES) {
+			return ENTRIES.values().stream()
+					.filter(e -> e.automaton == automaton)
+					.mapToInt(e -> e.references)
+					.sum();
+		}
+	}
+
+	private static class Entry {
+		/**
+		 * Written under the lock of the entry
+		 */
+		volatile CompressedDAWGSet automaton;
+
+		/**
+		 * Guarded by the lock of the registry
+		 */
+		int references;
+	}
+}
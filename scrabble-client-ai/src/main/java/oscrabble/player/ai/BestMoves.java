@@ -0,0 +1,130 @@
+package oscrabble.player.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Consumer keeping the best moves only: the ones with the highest score and, for a same score, the longest ones, as
+ * {@link Strategy.BestScore} sorts them. Between equal moves, the first received is kept.
+ * <p>
+ * As soon as it is full, the generators skip the parts of the search which cannot bring a move better than the worst
+ * kept one.
+ */
+public final class BestMoves implements MoveConsumer {
+
+	/**
+	 * Number of bits of the rank given to the length of the move
+	 */
+	private static final int LENGTH_BITS = 5;
+
+	private final int capacity;
+
+	/**
+	 * Min-heap of the ranks of the kept moves. A rank holds the score and the length in the high int, and, in the low
+	 * one, a number decreasing with the order of arrival.
+	 */
+	private final long[] ranks;
+
+	/**
+	 * The kept moves, at the same positions as their ranks
+	 */
+	private final Move[] moves;
+
+	private int size;
+
+	/**
+	 * Number of received moves
+	 */
+	private int received;
+
+	/**
+	 * @param capacity number of moves to keep
+	 */
+	public BestMoves(final int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+		this.ranks = new long[capacity];
+		this.moves = new Move[capacity];
+	}
+
+	@Override
+	public void accept(final Move move) {
+		final long rank = ((long) ((move.getScore() << LENGTH_BITS) | move.getLength()) << 32)
+				| (Integer.MAX_VALUE - this.received++);
+		if (this.size < this.capacity) {
+			int position = this.size++;
+			while (position > 0) {
+				final int parent = (position - 1) / 2;
+				if (this.ranks[parent] <= rank) {
+					break;
+				}
+				this.ranks[position] = this.ranks[parent];
+				this.moves[position] = this.moves[parent];
+				position = parent;
+			}
+			this.ranks[position] = rank;
+			this.moves[position] = move;
+		} else if (rank > this.ranks[0]) {
+			siftDown(rank, move);
+		}
+	}
+
+	/**
+	 * Replace the root of the heap.
+	 */
+	private void siftDown(final long rank, final Move move) {
+		int position = 0;
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= this.size) {
+				break;
+			}
+			if (child + 1 < this.size && this.ranks[child + 1] < this.ranks[child]) {
+				child++;
+			}
+			if (this.ranks[child] >= rank) {
+				break;
+			}
+			this.ranks[position] = this.ranks[child];
+			this.moves[position] = this.moves[child];
+			position = child;
+		}
+		this.ranks[position] = rank;
+		this.moves[position] = move;
+	}
+
+	@Override
+	public int getMinimumScore() {
+		return this.size < this.capacity
+				? Integer.MIN_VALUE
+				: (int) (this.ranks[0] >>> 32) >> LENGTH_BITS;
+	}
+
+	/**
+	 * @return the number of moves to keep
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * @return the kept moves, the best first
+	 */
+	public List<Move> getMoves() {
+		final Integer[] order = new Integer[this.size];
+		Arrays.setAll(order, i -> i);
+		Arrays.sort(order, (a, b) -> Long.compare(this.ranks[b], this.ranks[a]));
+		final List<Move> list = new ArrayList<>(this.size);
+		for (final Integer i : order) {
+			list.add(this.moves[i]);
+		}
+		return list;
+	}
+}
@@ -0,0 +1,133 @@
+package oscrabble.player.ai;
+
+import oscrabble.data.objects.Grid;
+import oscrabble.data.objects.Square;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Analysis of a grid kept from one move calculation to the next: the anchors and the cross-checks. When the grid
+ * has changed, only the squares around the new tiles are recalculated.
+ * <p>
+ * The new tiles are found by comparing the grid with the tiles known by the last update, the grid being possibly
+ * a new instance built from the game state.
+ */
+class BoardAnalysis {
+
+	private final CrossChecks crossChecks;
+
+	/**
+	 * Letters of the tiles at the last update, indexed by square index. 0 for an empty square.
+	 */
+	private final char[] tiles = new char[Grid.GRID_SIZE_PLUS_2 * Grid.GRID_SIZE_PLUS_2];
+
+	/**
+	 * The anchors, indexed by square index
+	 */
+	private final BitSet anchors = new BitSet(this.tiles.length);
+
+	private Grid grid;
+
+	BoardAnalysis(final CrossChecks crossChecks) {
+		this.crossChecks = crossChecks;
+	}
+
+	/**
+	 * Bring the analysis up to date with a grid.
+	 */
+	void update(final Grid grid) {
+		this.grid = grid;
+		this.crossChecks.setGrid(grid);
+
+		final List<Square> newTiles = new ArrayList<>();
+		boolean removedTile = false;
+		for (final Square square : grid.getAllSquares()) {
+			if (square.isBorder()) {
+				continue;
+			}
+			final int index = CrossChecks.index(square);
+			final char c = square.isEmpty() ? 0 : square.tile.c;
+			if (c != this.tiles[index]) {
+				if (this.tiles[index] == 0) {
+					newTiles.add(square);
+				} else {
+					removedTile = true;
+				}
+				this.tiles[index] = c;
+			}
+		}
+
+		if (removedTile) {
+			// p.ex. a rollback: start again from an empty grid
+			this.crossChecks.clear();
+			this.anchors.clear();
+			newTiles.clear();
+			for (final Square square : grid.getAllSquares()) {
+				if (!square.isBorder() && !square.isEmpty()) {
+					newTiles.add(square);
+				}
+			}
+		}
+
+		for (final Square square : newTiles) {
+			addTile(square);
+		}
+	}
+
+	/**
+	 * Update the anchors and invalidate the cross-checks around a new tile.
+	 */
+	private void addTile(final Square square) {
+		this.anchors.clear(CrossChecks.index(square));
+		for (final Grid.Direction direction : Grid.Direction.values()) {
+			Square neighbour = this.grid.getPrevious(square, direction);
+			if (!neighbour.isBorder() && neighbour.isEmpty()) {
+				this.anchors.set(CrossChecks.index(neighbour));
+			}
+			neighbour = this.grid.getNext(square, direction);
+			if (!neighbour.isBorder() && neighbour.isEmpty()) {
+				this.anchors.set(CrossChecks.index(neighbour));
+			}
+
+			// the cross words containing the tile are the ones of the empty squares at both ends of its run
+			Square end = square;
+			while (!end.isBorder() && !end.isEmpty()) {
+				end = this.grid.getPrevious(end, direction);
+			}
+			if (!end.isBorder()) {
+				this.crossChecks.invalidate(end, direction);
+			}
+			end = square;
+			while (!end.isBorder() && !end.isEmpty()) {
+				end = this.grid.getNext(end, direction);
+			}
+			if (!end.isBorder()) {
+				this.crossChecks.invalidate(end, direction);
+			}
+		}
+	}
+
+	CrossChecks getCrossChecks() {
+		return this.crossChecks;
+	}
+
+	/**
+	 * @return the anchors, in the order of the squares
+	 */
+	List<Square> getAnchors() {
+		final ArrayList<Square> squares = new ArrayList<>(this.anchors.cardinality());
+		for (int i = this.anchors.nextSetBit(0); i >= 0; i = this.anchors.nextSetBit(i + 1)) {
+			squares.add(this.grid.get(i / Grid.GRID_SIZE_PLUS_2, i % Grid.GRID_SIZE_PLUS_2));
+		}
+		return squares;
+	}
+
+	/**
+	 * @return if the square is an anchor
+	 */
+	boolean isAnchor(final Square square) {
+		return this.anchors.get(CrossChecks.index(square));
+	}
+}
@@ -1,228 +1,240 @@
 package oscrabble.player.ai;
 
-import org.apache.commons.io.FileUtils;
 import org.quinto.dawg.CompressedDAWGSet;
 import org.quinto.dawg.DAWGNode;
-import org.quinto.dawg.ModifiableDAWGSet;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import oscrabble.data.Action;
+import oscrabble.ScrabbleConstants;
 import oscrabble.data.IDictionary;
-import oscrabble.data.objects.Coordinate;
 import oscrabble.data.objects.Grid;
 import oscrabble.data.objects.Square;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 
-public class BruteForceMethod {
-	private final static Logger LOGGER = LoggerFactory.getLogger(BruteForceMethod.class);
-
-	CompressedDAWGSet automaton;
+/**
+ * Move generator after Appel and Jacobson: the letters left of each anchor, then the letters from the anchor to the
+ * right, are read forward in a DAWG.
+ */
+public class BruteForceMethod extends AbstractMoveGenerator {
 
 	/**
-	 * The grid, to update after each round
+	 * Prefix of the file names of the automata
 	 */
-	Grid grid;
+	static final String AUTOMATON_PREFIX = "scrabble_dawg_";
+
+	CompressedDAWGSet automaton;
 
 	public BruteForceMethod(final IDictionary dictionary) {
 		loadDictionary(dictionary);
+		loadLetterPoints(dictionary.getScrabbleRules());
 	}
 
-	static private Set<Character> getTransitions(final DAWGNode node) {
-		final LinkedHashSet<Character> transitions = new LinkedHashSet<>();
-		for (char c = 'A'; c <= 'Z'; c++) {
-			if (node.transition(c) != null) {
-				transitions.add(c);
-			}
-		}
-		return transitions;
+	@Override
+	CrossChecks createCrossChecks() {
+		return new CrossChecks(this.automaton, false);
 	}
 
 	void loadDictionary(final IDictionary dictionary) {
-		final Set<String> admissibleWords = new HashSet<>(dictionary.getAdmissibleWords());
-		final File fff = new File(
-				FileUtils.getTempDirectory(),
-				"scrabble_dawg_" + admissibleWords.hashCode() + ".dawg"
-		);
-		if (fff.exists()) {
-			try (ObjectInputStream fis = new ObjectInputStream(new FileInputStream(fff))) {
-				this.automaton = ((CompressedDAWGSet) fis.readObject());
-			} catch (final IOException | ClassNotFoundException e) {
-				throw new IOError(e);
-			}
-		} else {
-			// remove words with one letter
-			final Iterator<String> it = admissibleWords.iterator();
-			it.forEachRemaining(w -> {
-				if (w.length() == 1) {
-					it.remove();
-				}
-			});
-
-			this.automaton = new ModifiableDAWGSet(admissibleWords).compress();
-			try (ObjectOutputStream oss = new ObjectOutputStream(new FileOutputStream(fff))) {
-				oss.writeObject(this.automaton);
-			} catch (IOException e) {
-				throw new IOError(e);
-			}
-		}
+		this.automaton = acquireAutomaton(AUTOMATON_PREFIX, dictionary, words -> words);
+		this.letterBits = CrossChecks.getLetterBits(this.automaton);
 	}
 
-	public void setGrid(final Grid grid) {
-		this.grid = grid;
+	/**
+	 * Build the automaton of a dictionary, to be shipped as a resource under {@code oscrabble/automata} of the
+	 * classpath. The generators of this dictionary then load it instead of building it.
+	 *
+	 * @param dictionary the dictionary
+	 * @param directory  the directory to write the automaton in
+	 * @return the file of the automaton
+	 * @throws IOException on write error
+	 */
+	public static Path precompileAutomaton(final IDictionary dictionary, final Path directory) throws IOException {
+		return precompileAutomaton(AUTOMATON_PREFIX, dictionary, words -> words, directory);
 	}
 
-	Set<Square> getAnchors() {
-		final LinkedHashSet<Square> anchors = new LinkedHashSet<>();
-
+	@Override
+	public boolean generateMoves(final Collection<Character> rack, final MoveConsumer consumer, final Duration timeBudget) {
 		if (this.grid.isEmpty()) {
-			throw new IllegalStateException("Cannot get anchors on an empty grid.");
+			generateMovesOnEmptyGrid(rack, consumer);
+			return true;
 		}
 
-		for (final Square square : this.grid.getAllSquares()) {
-			if (!square.isEmpty()) {
-				for (final Square neighbour : this.grid.getNeighbours(square)) {
-					if (neighbour.isEmpty()) {
-						anchors.add(neighbour);
-					}
-				}
-			}
-		}
-		return anchors;
+		final BoardAnalysis analysis = analyse();
+		final CrossChecks crossChecks = analysis.getCrossChecks();
+		final int bingoBoardTiles = getBingoBoardTiles(this.automaton, new Rack(rack));
+		return calculateAnchors(
+				analysis.getAnchors(),
+				crossChecks,
+				consumer,
+				timeBudget,
+				moveConsumer -> {
+					final CalculateCtx ctx = new CalculateCtx();
+					ctx.crossChecks = crossChecks;
+					ctx.letterPoints = this.letterPoints;
+					ctx.lettersByPoints = this.lettersByPoints;
+					ctx.rack = new Rack(rack);
+					ctx.rackSize = ctx.rack.size();
+					ctx.bingoBoardTiles = bingoBoardTiles;
+					ctx.consumer = moveConsumer;
+					return ctx;
+				},
+				(ctx, anchor) -> calculateAnchor(ctx, analysis, anchor)
+		);
 	}
 
 	/**
-	 * Get all authorized moves.
+	 * Collect the moves of an anchor in both directions.
 	 *
-	 * @param rack Rack
-	 * @return all the moves
+	 * @param ctx     the context
+	 * @param analysis analysis of the grid
+	 * @param anchor  the anchor
 	 */
-	public Set<String> getLegalMoves(final Collection<Character> rack) {
-		if (this.grid.isEmpty()) {
-			return getLegalMovesOnEmptyGrid(rack);
-		}
-
-		final CalculateCtx ctx = new CalculateCtx();
-		ctx.grid = this.grid;
-		ctx.rack = new LinkedList<>();
-		ctx.rack.addAll(rack);
-		ctx.legalPlayTiles.add(Action.PASS_TURN_NOTATION);
-
-		final Set<Square> anchors = getAnchors();
-		for (final Square anchor : anchors) {
-			ctx.anchor = anchor;
-
-			for (final Grid.Direction direction : Grid.Direction.values()) {
-				ctx.direction = direction;
-				final StringBuilder partialWord = new StringBuilder();
-
-				if (!anchor.isFirstOfLine(direction) && !this.grid.getPrevious(anchor, direction).isEmpty()) {
-					DAWGNode node = this.automaton.getSourceNode();
-					Square square = anchor;
-					do {
-						square = this.grid.getPrevious(square, direction);
-						partialWord.insert(0, Character.toUpperCase(square.tile.c));
-					} while (!square.isFirstOfLine(direction) && !this.grid.getPrevious(square, direction).isEmpty());
-
-					node = node.transition(partialWord.toString());
-					extendRight(ctx, partialWord.toString(), node, anchor);
-				} else {
-					int nonAnchor = 0;
-					Square square = anchor;
-					while (!square.isFirstOfLine(direction) && !anchors.contains(square = this.grid.getPrevious(square, direction)) && square.isEmpty()) {
-						nonAnchor++;
-					}
-					leftPart(ctx, "", this.automaton.getSourceNode(), nonAnchor);
+	private void calculateAnchor(final CalculateCtx ctx, final BoardAnalysis analysis, final Square anchor) {
+		ctx.anchor = anchor;
+
+		for (final Grid.Direction direction : Grid.Direction.values()) {
+			ctx.direction = direction;
+			ctx.wordLength = 0;
+
+			if (!anchor.isFirstOfLine(direction) && !this.grid.getPrevious(anchor, direction).isEmpty()) {
+				Square square = anchor;
+				do {
+					square = this.grid.getPrevious(square, direction);
+				} while (!square.isFirstOfLine(direction) && !this.grid.getPrevious(square, direction).isEmpty());
+
+				int node = DAWGNode.START;
+				for (; node != DAWGNode.EMPTY && square != anchor; square = this.grid.getNext(square, direction)) {
+					final char letter = Character.toUpperCase(square.tile.c);
+					ctx.push(letter, square);
+					node = this.automaton.child(node, letter);
+				}
+				if (node != DAWGNode.EMPTY && ctx.isPromising(this.grid, null, anchor)) {
+					extendRight(ctx, node, anchor);
+				}
+			} else {
+				int nonAnchor = 0;
+				Square square = anchor;
+				while (!square.isFirstOfLine(direction) && !analysis.isAnchor(square = this.grid.getPrevious(square, direction)) && square.isEmpty()) {
+					nonAnchor++;
+				}
+				if (ctx.isPromising(this.grid, nonAnchor > 0 ? this.grid.getPrevious(anchor, direction) : null, anchor)) {
+					leftPart(ctx, DAWGNode.START, nonAnchor);
 				}
 			}
 		}
-
-		LOGGER.debug(ctx.legalPlayTiles.size() + " legal moves calculated");
-		return ctx.legalPlayTiles;
 	}
 
-	private Set<String> getLegalMovesOnEmptyGrid(final Collection<Character> rack) {
+	private void generateMovesOnEmptyGrid(final Collection<Character> rack, final MoveConsumer consumer) {
 		if (!this.grid.isEmpty()) {
 			throw new IllegalStateException();
 		}
 
-		final List<Character> remaining = new LinkedList<>(rack);
-
 		final Set<String> words = new HashSet<>();
-		getWords(this.automaton.getSourceNode(), "", remaining, words);
+		getWords(DAWGNode.START, new char[Grid.GRID_SIZE], 0, new Rack(rack), words);
 
-		final Set<String> moves = new HashSet<>();
 		final Square centralSquare = this.grid.getCentralSquare();
 		for (final String word : words) {
-			HashMap<Grid.Direction, Square> wordStart = new HashMap<>();
-			wordStart.put(Grid.Direction.HORIZONTAL, centralSquare);
-			wordStart.put(Grid.Direction.VERTICAL, centralSquare);
-
-			for (int i = 0; i < word.length(); i++) {
-				for (final Grid.Direction d : wordStart.keySet()) {
-					final Square startSquare = wordStart.get(d);
-					moves.add(startSquare.getNotation(d) + " " + word);
-					wordStart.put(d, this.grid.getPrevious(startSquare, d));
+			final char[] letters = word.toCharArray();
+			for (final Grid.Direction d : Grid.Direction.values()) {
+				Square startSquare = centralSquare;
+				for (int i = 0; i < letters.length; i++) {
+					int score = 0;
+					int wordFactor = 1;
+					Square square = startSquare;
+					for (final char letter : letters) {
+						score += this.letterPoints[letter - 'A'] * square.letterBonus;
+						wordFactor *= square.wordBonus;
+						square = this.grid.getNext(square, d);
+					}
+					score *= wordFactor;
+					if (letters.length == ScrabbleConstants.RACK_SIZE) {
+						score += SCRABBLE_BONUS;
+					}
+					consumer.accept(new Move(startSquare, d, letters, letters.length, letters.length, score));
+					startSquare = this.grid.getPrevious(startSquare, d);
 				}
 			}
 		}
-
-		moves.add(Action.PASS_TURN_NOTATION);
-		return moves;
 	}
 
 	/**
-	 * Collect the possible words from a given node.
+	 * Collect the possible words from a given node. Blanks are not used.
 	 *
-	 * @param position       current node
-	 * @param reached        word begin as it already has been computed
-	 * @param remainingChars remaining chars
-	 * @param collector      bag to collect the results.
+	 * @param position  current node
+	 * @param word      buffer containing the word begin as it already has been computed
+	 * @param length    length of the word begin
+	 * @param rack      remaining tiles
+	 * @param collector bag to collect the results.
 	 */
-	private void getWords(final DAWGNode position, final String reached, final List<Character> remainingChars, final Set<String> collector) {
-		if (remainingChars == null) {
+	private void getWords(final int position, final char[] word, final int length, final Rack rack, final Set<String> collector) {
+		if (length == word.length) {
 			return;
 		}
 
-		for (final Character transition : getTransitions(position)) {
-			if (remainingChars.contains(transition)) {
-				//noinspection RedundantCast
-				remainingChars.remove((Character) transition);
-				final String now = reached + transition;
-				final DAWGNode newNode = position.transition(transition);
-				if (newNode.isAcceptNode()) {
-					collector.add(now);
-				}
-				getWords(newNode, now, remainingChars, collector);
-				remainingChars.add(transition);
+		for (char letter = 'A'; letter <= 'Z'; letter++) {
+			if (!rack.has(letter)) {
+				continue;
+			}
+			final int newNode = this.automaton.child(position, letter);
+			if (newNode == DAWGNode.EMPTY) {
+				continue;
 			}
+			rack.take(letter);
+			word[length] = letter;
+			if (this.automaton.isAccept(newNode)) {
+				collector.add(new String(word, 0, length + 1));
+			}
+			getWords(newNode, word, length + 1, rack, collector);
+			rack.putBack(letter);
 		}
 	}
 
 	/**
-	 * Collect the words accepted by the grid with a given anchor.
+	 * Collect the words accepted by the grid with a given anchor. The start of the word is in {@code ctx.word}.
 	 *
-	 * @param ctx         the context
-	 * @param partialWord start of the word
-	 * @param node        current node
-	 * @param limit
+	 * @param ctx   the context
+	 * @param node  current node
+	 * @param limit number of squares still free for the left part
 	 */
-	private void leftPart(final CalculateCtx ctx, final String partialWord, final DAWGNode node, final int limit) {
-		extendRight(ctx, partialWord, node, ctx.anchor);
+	private void leftPart(final CalculateCtx ctx, final int node, final int limit) {
+		if (ctx.pollDeadline()) {
+			return;
+		}
+
+		Square firstSquare = ctx.anchor;
+		for (int i = 0; i < ctx.wordLength; i++) {
+			firstSquare = this.grid.getPrevious(firstSquare, ctx.direction);
+		}
+		ctx.place(this.grid, firstSquare);
+		extendRight(ctx, node, ctx.anchor);
 		if (limit > 0) {
-			for (final Character c : getTransitions(node)) {
-				if (ctx.rack.contains(c)) {
-					//noinspection RedundantCast
-					ctx.rack.remove((Character) c);
-					leftPart(ctx, partialWord + c, node.transition(c), limit - 1);
-					ctx.rack.add(c);
+			final Rack rack = ctx.rack;
+			final int allowedLetters = rack.hasBlank() ? CrossChecks.ALL_LETTERS : rack.getLetterMask();
+			for (long edges = this.automaton.edgeMask(node); edges != 0; edges &= edges - 1) {
+				final int letterIndex = Long.numberOfTrailingZeros(edges);
+				final int letterBit = this.letterBits[letterIndex] & allowedLetters;
+				if (letterBit == 0) {
+					continue;
+				}
+				final char letter = (char) ('A' + Integer.numberOfTrailingZeros(letterBit));
+				final boolean own = rack.has(letter);
+				final int nextNode = this.automaton.child(node, letterIndex);
+
+				if (own) {
+					rack.take(letter);
+					ctx.pushUnplaced(letter);
+					leftPart(ctx, nextNode, limit - 1);
+					ctx.pop();
+					rack.putBack(letter);
 				}
 
-				if (ctx.rack.contains(' ')) {
-					ctx.rack.remove((Character) ' ');
-					leftPart(ctx, partialWord + Character.toLowerCase(c), node.transition(c), limit - 1);
-					ctx.rack.add(' ');
+				if (rack.hasBlank()) {
+					rack.takeBlank();
+					ctx.pushUnplaced(Character.toLowerCase(letter));
+					leftPart(ctx, nextNode, limit - 1);
+					ctx.pop();
+					rack.putBackBlank();
 				}
 			}
 		}
@@ -231,138 +243,79 @@ public class BruteForceMethod {
 	/**
 	 * For a given square and given word start, collect all correct words the grid allows with this word start.
 	 *
-	 * @param ctx
-	 * @param partialWord
-	 * @param node
-	 * @param possibleNextSquare
+	 * @param ctx                the context, {@code ctx.word} containing the start of the word
+	 * @param node               the node reached with the start of the word
+	 * @param possibleNextSquare square following the start of the word
 	 */
 	private void extendRight(final CalculateCtx ctx,
-							 final String partialWord,
-							 final DAWGNode node,
+							 final int node,
 							 final Square possibleNextSquare
 	) {
+		if (ctx.pollDeadline()) {
+			return;
+		}
 
 		if (
 				(possibleNextSquare.isEmpty() || possibleNextSquare.isBorder())
-						&& node.isAcceptNode()
+						&& this.automaton.isAccept(node)
 						&& possibleNextSquare != ctx.anchor
 		) {
-			addLegalMove(ctx, this.grid.getPrevious(possibleNextSquare, ctx.direction), partialWord);
+			addLegalMove(ctx, this.grid.getPrevious(possibleNextSquare, ctx.direction));
 		}
 
 		if (possibleNextSquare.isBorder()) {
 			return;
 		}
 
+		final Square nextSquare = this.grid.getNext(possibleNextSquare, ctx.direction);
 		if (possibleNextSquare.isEmpty()) {
-			final Set<Character> allowedCrossCharacters = getAllowedCrossCharacters(
-					ctx,
-					possibleNextSquare,
-					ctx.direction.other()
-			);
-
-			for (final Character letter : getTransitions(node)) {
-				char tile;
-				if (allowedCrossCharacters.contains(letter)) {
-					if (ctx.rack.contains(' ')) {
-						tile = ' ';
-						final DAWGNode nextNode = node.transition(letter);
-						ctx.rack.remove((Character) tile);
-						if (!possibleNextSquare.isBorder) {
-							extendRight(ctx, partialWord + Character.toLowerCase(letter), nextNode,
-									this.grid.getNext(possibleNextSquare, ctx.direction));
-						}
-						ctx.rack.add(tile);
-					}
+			final Rack rack = ctx.rack;
+			final int allowedLetters = ctx.crossChecks.get(possibleNextSquare, ctx.direction.other())
+					& (rack.hasBlank() ? CrossChecks.ALL_LETTERS : rack.getLetterMask());
+
+			for (long edges = this.automaton.edgeMask(node); edges != 0; edges &= edges - 1) {
+				final int letterIndex = Long.numberOfTrailingZeros(edges);
+				final int letterBit = this.letterBits[letterIndex] & allowedLetters;
+				if (letterBit == 0) {
+					continue;
+				}
+				final char letter = (char) ('A' + Integer.numberOfTrailingZeros(letterBit));
+				final boolean own = rack.has(letter);
+				final int nextNode = this.automaton.child(node, letterIndex);
+
+				if (rack.hasBlank()) {
+					rack.takeBlank();
+					ctx.push(Character.toLowerCase(letter), possibleNextSquare);
+					extendRight(ctx, nextNode, nextSquare);
+					ctx.pop();
+					rack.putBackBlank();
+				}
 
-					if (ctx.rack.contains(letter)) {
-						tile = letter;
-						final DAWGNode nextNode = node.transition(letter);
-						ctx.rack.remove((Character) tile);
-						if (!possibleNextSquare.isBorder()) {
-							extendRight(ctx, partialWord + letter, nextNode,
-									this.grid.getNext(possibleNextSquare, ctx.direction));
-						}
-						ctx.rack.add(tile);
-					}
+				if (own) {
+					rack.take(letter);
+					ctx.push(letter, possibleNextSquare);
+					extendRight(ctx, nextNode, nextSquare);
+					ctx.pop();
+					rack.putBack(letter);
 				}
 			}
 		} else {
-			final Character letter = possibleNextSquare.tile.c;
-			if (letter != null && getTransitions(node).contains(letter)) {
-				final DAWGNode nextNode = node.transition(letter);
-				if (!possibleNextSquare.isLastOfLine(ctx.direction)) {
-					extendRight(ctx, partialWord + letter, nextNode, this.grid.getNext(possibleNextSquare, ctx.direction));
-				}
+			final char letter = Character.toUpperCase(possibleNextSquare.tile.c);
+			final int nextNode = this.automaton.child(node, letter);
+			if (nextNode != DAWGNode.EMPTY) {
+				ctx.push(letter, possibleNextSquare);
+				extendRight(ctx, nextNode, nextSquare);
+				ctx.pop();
 			}
 		}
 
 	}
 
-	private void addLegalMove(final CalculateCtx ctx, final Square endSquare, final String word) {
+	private void addLegalMove(final CalculateCtx ctx, final Square endSquare) {
 		Square startSquare = endSquare;
-		for (int i = 0; i < word.length() - 1; i++) {
+		for (int i = 0; i < ctx.wordLength - 1; i++) {
 			startSquare = this.grid.getPrevious(startSquare, ctx.direction);
 		}
-		ctx.legalPlayTiles.add(
-				Coordinate.getNotation(startSquare, ctx.direction) + " " + word
-		);
-	}
-
-	private Set<Character> getAllowedCrossCharacters(final CalculateCtx ctx,
-													 final Square crossSquare,
-													 final Grid.Direction crossDirection
-	) {
-		if (!crossSquare.isEmpty()) {
-			throw new IllegalStateException("Should not be called on occupied square");
-		}
-
-		final Map<Square, Set<Character>> crossChecks = ctx.crosschecks.get(crossDirection);
-		if (!crossChecks.containsKey(crossSquare)) {
-			final TreeSet<Character> allowed = new TreeSet<>();
-			final StringBuilder sb = new StringBuilder();
-
-			Square square = this.grid.getPrevious(crossSquare, crossDirection);
-			while (!square.isBorder() && !square.isEmpty()) {
-				sb.insert(0, square.tile.c);
-				square = this.grid.getPrevious(square, crossDirection);
-			}
-
-			final int emptySquare = sb.length();
-			sb.append(" ");
-
-			square = this.grid.getNext(crossSquare, crossDirection);
-			while (!square.isBorder() && !square.isEmpty()) {
-				sb.append(square.tile.c);
-				square = this.grid.getNext(square, crossDirection);
-			}
-
-			final boolean allowAll = sb.length() == 1;
-
-			for (char letter = 'A'; letter < 'Z'; letter++) {
-				sb.setCharAt(emptySquare, letter);
-				if (allowAll || this.automaton.contains(sb.toString())) {
-					allowed.add(letter);
-				}
-			}
-			crossChecks.put(crossSquare, allowed);
-		}
-		return crossChecks.get(crossSquare);
-	}
-
-	static class CalculateCtx {
-		Grid.Direction direction;
-		Square anchor;
-		Grid grid;
-
-		List<Character> rack;
-		Set<String> legalPlayTiles = new LinkedHashSet<>();
-
-		final Map<Grid.Direction, Map<Square, Set<Character>>> crosschecks = new HashMap<>();
-
-		{
-			this.crosschecks.put(Grid.Direction.HORIZONTAL, new HashMap<>());
-			this.crosschecks.put(Grid.Direction.VERTICAL, new HashMap<>());
-		}
+		ctx.consumer.accept(new Move(startSquare, ctx.direction, ctx.word, ctx.wordLength, ctx.getTileCount(), ctx.getScore()));
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,242 @@
+package oscrabble.player.ai;
+
+import org.quinto.dawg.CompressedDAWGSet;
+import org.quinto.dawg.DAWGNode;
+import org.quinto.dawg.DAWGSet;
+import oscrabble.data.objects.Grid;
+import oscrabble.data.objects.Square;
+
+import java.util.Arrays;
+
+/**
+ * Cross-checks of the empty squares of a grid. For each square and direction, a bitmask tells which letters can be
+ * set on the square without building a non-admissible word in this direction. Bit {@code n} of a mask stands for the
+ * letter {@code 'A' + n}.
+ * <p>
+ * The words are read forward in a DAWG, or backward in a GADDAG, whose entry for a whole word is the reversed word.
+ */
+class CrossChecks {
+
+	/**
+	 * Mask allowing every letter
+	 */
+	static final int ALL_LETTERS = (1 << ('Z' - 'A' + 1)) - 1;
+
+	/**
+	 * Marker for a mask not calculated yet. No real mask has the sign bit set.
+	 */
+	private static final int NOT_CALCULATED = -1;
+
+	/**
+	 * Cross score of a square without cross word
+	 */
+	static final int NO_CROSS_WORD = -1;
+
+	private final CompressedDAWGSet automaton;
+
+	/**
+	 * See {@link #getLetterBits(DAWGSet)}
+	 */
+	private final int[] letterBits;
+
+	private Grid grid;
+
+	/**
+	 * Read the words backward
+	 */
+	private final boolean reversed;
+
+	/**
+	 * The masks, indexed by direction and square index.
+	 */
+	private final int[][] masks = new int[Grid.Direction.values().length][Grid.GRID_SIZE_PLUS_2 * Grid.GRID_SIZE_PLUS_2];
+
+	/**
+	 * Sum of the points of the tiles of the cross words, indexed as the masks. Calculated together with the masks.
+	 */
+	private final int[][] crossScores = new int[Grid.Direction.values().length][Grid.GRID_SIZE_PLUS_2 * Grid.GRID_SIZE_PLUS_2];
+
+	/**
+	 * @param automaton automaton containing the admissible words
+	 * @param reversed  if the automaton contains the words backward
+	 */
+	CrossChecks(final CompressedDAWGSet automaton, final boolean reversed) {
+		this.automaton = automaton;
+		this.letterBits = getLetterBits(automaton);
+		this.reversed = reversed;
+		clear();
+	}
+
+	/**
+	 * @param automaton an automaton
+	 * @return for each index of the alphabet of the automaton, the bit of the letter in a mask, {@code 0} for the
+	 * characters which are not letters.
+	 * @see CompressedDAWGSet#edgeMask(int)
+	 */
+	static int[] getLetterBits(final DAWGSet automaton) {
+		final int[] letterBits = new int[automaton.getAlphabet().size()];
+		int i = 0;
+		for (final char c : automaton.getAlphabet()) {
+			letterBits[i++] = c >= 'A' && c <= 'Z' ? bit(c) : 0;
+		}
+		return letterBits;
+	}
+
+	/**
+	 * Set the grid to read. The masks already calculated are kept: the ones of the squares whose cross words have
+	 * changed are to be invalidated.
+	 */
+	void setGrid(final Grid grid) {
+		this.grid = grid;
+	}
+
+	/**
+	 * Forget all calculated masks.
+	 */
+	void clear() {
+		for (final int[] directionMasks : this.masks) {
+			Arrays.fill(directionMasks, NOT_CALCULATED);
+		}
+	}
+
+	/**
+	 * Forget the mask of a square.
+	 *
+	 * @param square         the square
+	 * @param crossDirection direction of the words to check
+	 */
+	void invalidate(final Square square, final Grid.Direction crossDirection) {
+		this.masks[crossDirection.ordinal()][index(square)] = NOT_CALCULATED;
+	}
+
+	/**
+	 * @return the index of a square in the masks
+	 */
+	static int index(final Square square) {
+		return square.getX() * Grid.GRID_SIZE_PLUS_2 + square.getY();
+	}
+
+	/**
+	 * @param letter an uppercase letter
+	 * @return the bit standing for the letter in a mask
+	 */
+	static int bit(final char letter) {
+		return 1 << (letter - 'A');
+	}
+
+	/**
+	 * @param square         an empty square
+	 * @param crossDirection direction of the words to check
+	 * @return the mask of the letters allowed on the square
+	 */
+	int get(final Square square, final Grid.Direction crossDirection) {
+		if (!square.isEmpty()) {
+			throw new IllegalStateException("Should not be called on occupied square");
+		}
+
+		final int index = index(square);
+		final int[] directionMasks = this.masks[crossDirection.ordinal()];
+		if (directionMasks[index] == NOT_CALCULATED) {
+			directionMasks[index] = calculate(square, crossDirection, index);
+		}
+		return directionMasks[index];
+	}
+
+	/**
+	 * @param square         an empty square
+	 * @param crossDirection direction of the words to check
+	 * @return the sum of the points of the tiles around the square in the cross word, bonus excluded, or
+	 * {@link #NO_CROSS_WORD} if the square has no neighbour in this direction.
+	 */
+	int getCrossScore(final Square square, final Grid.Direction crossDirection) {
+		get(square, crossDirection);
+		return this.crossScores[crossDirection.ordinal()][index(square)];
+	}
+
+	/**
+	 * Calculate the masks of all empty squares, so that the instance can afterwards be read by several threads.
+	 */
+	void calculateAll() {
+		for (final Square square : this.grid.getAllSquares()) {
+			if (!square.isBorder() && square.isEmpty()) {
+				for (final Grid.Direction direction : Grid.Direction.values()) {
+					get(square, direction);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Walk the automaton once along the tiles before the square, then follow each possible letter for the square and
+	 * the tiles after it. "Before" and "after" are in the reading direction of the automaton.
+	 */
+	private int calculate(final Square crossSquare, final Grid.Direction crossDirection, final int index) {
+		final Square previous = this.grid.getPrevious(crossSquare, crossDirection);
+		final Square next = this.grid.getNext(crossSquare, crossDirection);
+		Square beforeFirst = previous;
+		while (!beforeFirst.isBorder() && !beforeFirst.isEmpty()) {
+			beforeFirst = this.grid.getPrevious(beforeFirst, crossDirection);
+		}
+		Square afterLast = next;
+		while (!afterLast.isBorder() && !afterLast.isEmpty()) {
+			afterLast = this.grid.getNext(afterLast, crossDirection);
+		}
+		if (previous == beforeFirst && next == afterLast) {
+			this.crossScores[crossDirection.ordinal()][index] = NO_CROSS_WORD;
+			return ALL_LETTERS;
+		}
+
+		int crossScore = 0;
+		for (Square square = this.grid.getNext(beforeFirst, crossDirection); square != afterLast; square = this.grid.getNext(square, crossDirection)) {
+			if (square != crossSquare) {
+				crossScore += square.tile.points;
+			}
+		}
+		this.crossScores[crossDirection.ordinal()][index] = crossScore;
+
+		final int prefixNode;
+		if (this.reversed) {
+			prefixNode = follow(DAWGNode.START, this.grid.getPrevious(afterLast, crossDirection), crossSquare, crossDirection);
+		} else {
+			prefixNode = follow(DAWGNode.START, this.grid.getNext(beforeFirst, crossDirection), crossSquare, crossDirection);
+		}
+		if (prefixNode == DAWGNode.EMPTY) {
+			return 0;
+		}
+
+		int mask = 0;
+		for (long edges = this.automaton.edgeMask(prefixNode); edges != 0; edges &= edges - 1) {
+			final int letterIndex = Long.numberOfTrailingZeros(edges);
+			final int letterBit = this.letterBits[letterIndex];
+			if (letterBit == 0) {
+				continue;
+			}
+			int node = this.automaton.child(prefixNode, letterIndex);
+			node = this.reversed
+					? follow(node, previous, beforeFirst, crossDirection)
+					: follow(node, next, afterLast, crossDirection);
+			if (node != DAWGNode.EMPTY && this.automaton.isAccept(node)) {
+				mask |= letterBit;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Follow the tiles of a line.
+	 *
+	 * @param node      start node
+	 * @param from      first square to read
+	 * @param to        square after the last one to read. If before {@code from}, the line is read backward.
+	 * @param direction direction of the line
+	 * @return the reached node, {@link DAWGNode#EMPTY} if none
+	 */
+	private int follow(int node, final Square from, final Square to, final Grid.Direction direction) {
+		final boolean backward = direction == Grid.Direction.HORIZONTAL ? to.getX() < from.getX() : to.getY() < from.getY();
+		for (Square square = from; node != DAWGNode.EMPTY && square != to; ) {
+			node = this.automaton.child(node, Character.toUpperCase(square.tile.c));
+			square = backward ? this.grid.getPrevious(square, direction) : this.grid.getNext(square, direction);
+		}
+		return node;
+	}
+}
@@ -0,0 +1,345 @@
+package oscrabble.player.ai;
+
+import org.quinto.dawg.CompressedDAWGSet;
+import org.quinto.dawg.DAWGNode;
+import oscrabble.data.IDictionary;
+import oscrabble.data.objects.Grid;
+import oscrabble.data.objects.Square;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Move generator after Gordon: the words are read in a GADDAG from the anchor to the left, then, after the separator,
+ * from the anchor to the right. No left context has to be rebuilt for the anchors following existing tiles.
+ * <p>
+ * For a word {@code c1..cn}, the GADDAG contains the reversed word {@code cn..c1} and, for each {@code i < n}, the
+ * string {@code ci..c1 SEPARATOR ci+1..cn}. It needs more memory than the DAWG of {@link BruteForceMethod}.
+ */
+public class GaddagMethod extends AbstractMoveGenerator {
+
+	/**
+	 * Separator between the reversed left part and the right part of a word
+	 */
+	static final char SEPARATOR = '>';
+
+	CompressedDAWGSet gaddag;
+
+	public GaddagMethod(final IDictionary dictionary) {
+		this.gaddag = acquireAutomaton("scrabble_gaddag_", dictionary, GaddagMethod::getSortedGaddagEntries);
+		this.letterBits = CrossChecks.getLetterBits(this.gaddag);
+		loadLetterPoints(dictionary.getScrabbleRules());
+	}
+
+	@Override
+	CrossChecks createCrossChecks() {
+		return new CrossChecks(this.gaddag, true);
+	}
+
+	/**
+	 * @param words the words
+	 * @return the strings to store in the GADDAG for the words. They are calculated on the fly while iterating.
+	 */
+	static Iterable<String> getGaddagEntries(final Collection<String> words) {
+		return () -> new Iterator<>() {
+			private final Iterator<String> wordIterator = words.iterator();
+			private String word;
+			private int separatorPosition;
+
+			@Override
+			public boolean hasNext() {
+				return (this.word != null && this.separatorPosition <= this.word.length()) || this.wordIterator.hasNext();
+			}
+
+			@Override
+			public String next() {
+				if (this.word == null || this.separatorPosition > this.word.length()) {
+					this.word = this.wordIterator.next();
+					this.separatorPosition = 1;
+				}
+				return getGaddagEntry(this.word, this.separatorPosition++);
+			}
+		};
+	}
+
+	/**
+	 * @param words the words
+	 * @return the strings to store in the GADDAG for the words, in ascending order. They are sorted by group of
+	 * strings beginning with the same letter: only one group is held in memory at once.
+	 */
+	static Iterable<String> getSortedGaddagEntries(final Collection<String> words) {
+		final BitSet firstLetters = new BitSet();
+		for (final String word : words) {
+			word.chars().forEach(firstLetters::set);
+		}
+		return () -> new Iterator<>() {
+			private int letter = -1;
+			private Iterator<String> group = Collections.emptyIterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!this.group.hasNext()) {
+					this.letter = firstLetters.nextSetBit(this.letter + 1);
+					if (this.letter == -1) {
+						return false;
+					}
+					final List<String> entries = new ArrayList<>();
+					for (final String word : words) {
+						for (int i = word.indexOf(this.letter); i != -1; i = word.indexOf(this.letter, i + 1)) {
+							entries.add(getGaddagEntry(word, i + 1));
+						}
+					}
+					entries.sort(null);
+					this.group = entries.iterator();
+				}
+				return true;
+			}
+
+			@Override
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return this.group.next();
+			}
+		};
+	}
+
+	/**
+	 * @param word              a word
+	 * @param separatorPosition number of letters before the separator, between 1 and the length of the word
+	 * @return the string to store in the GADDAG: the reversed letters before the separator, then the separator and
+	 * the following letters if any
+	 */
+	private static String getGaddagEntry(final String word, final int separatorPosition) {
+		final StringBuilder entry = new StringBuilder(word.length() + 1);
+		entry.append(word, 0, separatorPosition).reverse();
+		if (separatorPosition < word.length()) {
+			entry.append(SEPARATOR).append(word, separatorPosition, word.length());
+		}
+		return entry.toString();
+	}
+
+	@Override
+	public boolean generateMoves(final Collection<Character> rack, final MoveConsumer consumer, final Duration timeBudget) {
+		final BoardAnalysis analysis = analyse();
+		final CrossChecks crossChecks = analysis.getCrossChecks();
+		final Collection<Character> letters;
+		final List<Square> anchors;
+		if (this.grid.isEmpty()) {
+			// as by the DAWG method, no blank for the first move
+			letters = new ArrayList<>(rack);
+			letters.removeIf(c -> c == ' ');
+			anchors = Collections.singletonList(this.grid.getCentralSquare());
+		} else {
+			letters = rack;
+			anchors = analysis.getAnchors();
+		}
+
+		final int bingoBoardTiles = getBingoBoardTiles(this.gaddag, new Rack(letters));
+		return calculateAnchors(
+				anchors,
+				crossChecks,
+				consumer,
+				timeBudget,
+				moveConsumer -> {
+					final CalculateCtx ctx = new CalculateCtx();
+					ctx.crossChecks = crossChecks;
+					ctx.letterPoints = this.letterPoints;
+					ctx.lettersByPoints = this.lettersByPoints;
+					ctx.analysis = analysis;
+					ctx.rack = new Rack(letters);
+					ctx.rackSize = ctx.rack.size();
+					ctx.bingoBoardTiles = bingoBoardTiles;
+					ctx.consumer = moveConsumer;
+					return ctx;
+				},
+				(ctx, anchor) -> {
+					ctx.anchor = anchor;
+					for (final Grid.Direction direction : Grid.Direction.values()) {
+						ctx.direction = direction;
+						ctx.wordLength = 0;
+						if (ctx.isPromising(this.grid, anchor, this.grid.getNext(anchor, direction))) {
+							goLeft(ctx, DAWGNode.START, anchor);
+						}
+					}
+				}
+		);
+	}
+
+	/**
+	 * Read the letter of a square on the left part of the word, the anchor included.
+	 *
+	 * @param ctx    the context
+	 * @param node   node reached with the letters already read
+	 * @param square the square
+	 */
+	private void goLeft(final CalculateCtx ctx, final int node, final Square square) {
+		if (ctx.pollDeadline()) {
+			return;
+		}
+
+		if (square.isEmpty()) {
+			final Rack rack = ctx.rack;
+			final int allowedLetters = ctx.crossChecks.get(square, ctx.direction.other())
+					& (rack.hasBlank() ? CrossChecks.ALL_LETTERS : rack.getLetterMask());
+
+			for (long edges = this.gaddag.edgeMask(node); edges != 0; edges &= edges - 1) {
+				final int letterIndex = Long.numberOfTrailingZeros(edges);
+				final int letterBit = this.letterBits[letterIndex] & allowedLetters;
+				if (letterBit == 0) {
+					continue;
+				}
+				final char letter = (char) ('A' + Integer.numberOfTrailingZeros(letterBit));
+				final boolean own = rack.has(letter);
+				final int nextNode = this.gaddag.child(node, letterIndex);
+
+				if (own) {
+					rack.take(letter);
+					ctx.push(letter, square);
+					leftRead(ctx, nextNode, square);
+					ctx.pop();
+					rack.putBack(letter);
+				}
+
+				if (rack.hasBlank()) {
+					rack.takeBlank();
+					ctx.push(Character.toLowerCase(letter), square);
+					leftRead(ctx, nextNode, square);
+					ctx.pop();
+					rack.putBackBlank();
+				}
+			}
+		} else {
+			final char letter = Character.toUpperCase(square.tile.c);
+			final int nextNode = this.gaddag.child(node, letter);
+			if (nextNode != DAWGNode.EMPTY) {
+				ctx.push(letter, square);
+				leftRead(ctx, nextNode, square);
+				ctx.pop();
+			}
+		}
+	}
+
+	/**
+	 * Continue after the letter of a square of the left part has been read: the word can begin on this square, or
+	 * continue to the left. The left part does not cover other anchors: a move is found from its leftmost anchor only.
+	 *
+	 * @param ctx    the context
+	 * @param node   node reached with the letters already read
+	 * @param square the square just read
+	 */
+	private void leftRead(final CalculateCtx ctx, final int node, final Square square) {
+		final Square previous = this.grid.getPrevious(square, ctx.direction);
+		if (previous.isBorder() || previous.isEmpty()) {
+			final Square afterAnchor = this.grid.getNext(ctx.anchor, ctx.direction);
+			ctx.leftLength = ctx.wordLength;
+			ctx.startSquare = square;
+			if (this.gaddag.isAccept(node) && (afterAnchor.isBorder() || afterAnchor.isEmpty())) {
+				addLegalMove(ctx);
+			}
+
+			final int separatorNode = this.gaddag.child(node, SEPARATOR);
+			if (separatorNode != DAWGNode.EMPTY) {
+				extendRight(ctx, separatorNode, afterAnchor);
+			}
+		}
+
+		if (!previous.isBorder() && !(previous.isEmpty() && ctx.analysis.isAnchor(previous))) {
+			goLeft(ctx, node, previous);
+		}
+	}
+
+	/**
+	 * Read the letters right of the anchor.
+	 *
+	 * @param ctx                the context
+	 * @param node               node reached with the letters already read
+	 * @param possibleNextSquare square following the letters already read
+	 */
+	private void extendRight(final CalculateCtx ctx, final int node, final Square possibleNextSquare) {
+		if (ctx.pollDeadline()) {
+			return;
+		}
+
+		if ((possibleNextSquare.isEmpty() || possibleNextSquare.isBorder()) && this.gaddag.isAccept(node)) {
+			addLegalMove(ctx);
+		}
+
+		if (possibleNextSquare.isBorder()) {
+			return;
+		}
+
+		final Square nextSquare = this.grid.getNext(possibleNextSquare, ctx.direction);
+		if (possibleNextSquare.isEmpty()) {
+			final Rack rack = ctx.rack;
+			final int allowedLetters = ctx.crossChecks.get(possibleNextSquare, ctx.direction.other())
+					& (rack.hasBlank() ? CrossChecks.ALL_LETTERS : rack.getLetterMask());
+
+			for (long edges = this.gaddag.edgeMask(node); edges != 0; edges &= edges - 1) {
+				final int letterIndex = Long.numberOfTrailingZeros(edges);
+				final int letterBit = this.letterBits[letterIndex] & allowedLetters;
+				if (letterBit == 0) {
+					continue;
+				}
+				final char letter = (char) ('A' + Integer.numberOfTrailingZeros(letterBit));
+				final boolean own = rack.has(letter);
+				final int nextNode = this.gaddag.child(node, letterIndex);
+
+				if (own) {
+					rack.take(letter);
+					ctx.push(letter, possibleNextSquare);
+					extendRight(ctx, nextNode, nextSquare);
+					ctx.pop();
+					rack.putBack(letter);
+				}
+
+				if (rack.hasBlank()) {
+					rack.takeBlank();
+					ctx.push(Character.toLowerCase(letter), possibleNextSquare);
+					extendRight(ctx, nextNode, nextSquare);
+					ctx.pop();
+					rack.putBackBlank();
+				}
+			}
+		} else {
+			final char letter = Character.toUpperCase(possibleNextSquare.tile.c);
+			final int nextNode = this.gaddag.child(node, letter);
+			if (nextNode != DAWGNode.EMPTY) {
+				ctx.push(letter, possibleNextSquare);
+				extendRight(ctx, nextNode, nextSquare);
+				ctx.pop();
+			}
+		}
+	}
+
+	/**
+	 * Record the move in the context: the left part is read backward, the right part forward.
+	 */
+	private void addLegalMove(final CalculateCtx ctx) {
+		final char[] letters = ctx.orderedWord;
+		for (int i = 0; i < ctx.wordLength; i++) {
+			letters[i] = i < ctx.leftLength ? ctx.word[ctx.leftLength - 1 - i] : ctx.word[i];
+		}
+		ctx.consumer.accept(new Move(ctx.startSquare, ctx.direction, letters, ctx.wordLength, ctx.getTileCount(), ctx.getScore()));
+	}
+
+	static class CalculateCtx extends AbstractMoveGenerator.CalculateCtx {
+		BoardAnalysis analysis;
+
+		/**
+		 * Length of the left part. In {@link #word}, the left part is backward, followed by the right part.
+		 */
+		int leftLength;
+
+		/**
+		 * First square of the word
+		 */
+		Square startSquare;
+
+		/**
+		 * Buffer for the letters of a found word in the reading order
+		 */
+		final char[] orderedWord = new char[Grid.GRID_SIZE];
+	}
+}
@@ -0,0 +1,117 @@
+package oscrabble.player.ai;
+
+import lombok.Getter;
+import oscrabble.data.objects.Coordinate;
+import oscrabble.data.objects.Grid;
+import oscrabble.data.objects.Square;
+
+/**
+ * A move found by a move generator. The notation is only built on demand.
+ */
+public class Move {
+
+	/**
+	 * First square of the word
+	 */
+	@Getter
+	private final Square startSquare;
+
+	@Getter
+	private final Grid.Direction direction;
+
+	/**
+	 * The letters of the word, uppercase, the blanks included.
+	 */
+	private final char[] letters;
+
+	/**
+	 * Bit {@code i} is set if the letter at position {@code i} of the word is a blank.
+	 */
+	@Getter
+	private final int blankMask;
+
+	/**
+	 * Number of tiles taken from the rack
+	 */
+	@Getter
+	private final int tileCount;
+
+	/**
+	 * Points the move brings, cross words and bonus included
+	 */
+	@Getter
+	private final int score;
+
+	/**
+	 * @param startSquare first square of the word
+	 * @param direction   direction of the word
+	 * @param word        buffer containing the word, blanks as lowercase letters
+	 * @param length      length of the word
+	 * @param tileCount   number of tiles taken from the rack
+	 * @param score       points of the move
+	 */
+	Move(final Square startSquare, final Grid.Direction direction, final char[] word, final int length, final int tileCount, final int score) {
+		this.startSquare = startSquare;
+		this.direction = direction;
+		this.tileCount = tileCount;
+		this.score = score;
+		this.letters = new char[length];
+		int blankMask = 0;
+		for (int i = 0; i < length; i++) {
+			final char c = word[i];
+			if (Character.isLowerCase(c)) {
+				blankMask |= 1 << i;
+				this.letters[i] = Character.toUpperCase(c);
+			} else {
+				this.letters[i] = c;
+			}
+		}
+		this.blankMask = blankMask;
+	}
+
+	/**
+	 * @return the length of the word
+	 */
+	public int getLength() {
+		return this.letters.length;
+	}
+
+	/**
+	 * @param position position in the word
+	 * @return the letter at this position, uppercase
+	 */
+	public char getLetter(final int position) {
+		return this.letters[position];
+	}
+
+	/**
+	 * @param position position in the word
+	 * @return if the letter at this position is a blank
+	 */
+	public boolean isBlank(final int position) {
+		return (this.blankMask & (1 << position)) != 0;
+	}
+
+	/**
+	 * @return the word, blanks as lowercase letters
+	 */
+	public String getWord() {
+		final char[] word = new char[this.letters.length];
+		for (int i = 0; i < word.length; i++) {
+			word[i] = isBlank(i) ? Character.toLowerCase(this.letters[i]) : this.letters[i];
+		}
+		return new String(word);
+	}
+
+	/**
+	 * @return the notation of the move, p.ex. {@code 15H MES}
+	 */
+	public String getNotation() {
+		return Coordinate.getNotation(this.startSquare, this.direction) + " " + getWord();
+	}
+
+	@Override
+	public String toString() {
+		return getNotation();
+	}
+}
@@ -0,0 +1,23 @@
+package oscrabble.player.ai;
+
+/**
+ * Receives the moves found by a move generator, one after the other.
+ */
+@FunctionalInterface
+public interface MoveConsumer {
+
+	/**
+	 * @param move a found move
+	 */
+	void accept(Move move);
+
+	/**
+	 * The generators skip the parts of the search whose moves cannot reach this score. The value can grow during the
+	 * calculation.
+	 *
+	 * @return the lowest score of the moves still of interest, {@link Integer#MIN_VALUE} for all moves.
+	 */
+	default int getMinimumScore() {
+		return Integer.MIN_VALUE;
+	}
+}
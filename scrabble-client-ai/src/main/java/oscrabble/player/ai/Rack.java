@@ -0,0 +1,115 @@
+package oscrabble.player.ai;
+
+import java.util.Collection;
+
+/**
+ * Rack used by the move generator: the number of tiles of each letter, and the number of blanks.
+ */
+final class Rack {
+
+	/**
+	 * Slot of the blanks
+	 */
+	static final int BLANK = 'Z' - 'A' + 1;
+
+	/**
+	 * Number of tiles, indexed by {@code letter - 'A'}, and {@link #BLANK} for the blanks.
+	 */
+	private final int[] counts = new int[BLANK + 1];
+
+	/**
+	 * Number of tiles
+	 */
+	private int size;
+
+	/**
+	 * Bit {@code n} set if the rack contains the letter {@code 'A' + n}
+	 */
+	private int letterMask;
+
+	/**
+	 * @param tiles the tiles, blanks represented by a space. Other characters as A-Z are ignored.
+	 */
+	Rack(final Collection<Character> tiles) {
+		for (final Character tile : tiles) {
+			if (tile == null) {
+				continue;
+			}
+			if (tile == ' ') {
+				this.counts[BLANK]++;
+				this.size++;
+			} else if (tile >= 'A' && tile <= 'Z') {
+				this.counts[tile - 'A']++;
+				this.letterMask |= 1 << (tile - 'A');
+				this.size++;
+			}
+		}
+	}
+
+	boolean has(final char letter) {
+		return this.counts[letter - 'A'] > 0;
+	}
+
+	void take(final char letter) {
+		if (--this.counts[letter - 'A'] == 0) {
+			this.letterMask &= ~(1 << (letter - 'A'));
+		}
+		this.size--;
+	}
+
+	void putBack(final char letter) {
+		this.counts[letter - 'A']++;
+		this.letterMask |= 1 << (letter - 'A');
+		this.size++;
+	}
+
+	boolean hasBlank() {
+		return this.counts[BLANK] > 0;
+	}
+
+	void takeBlank() {
+		this.counts[BLANK]--;
+		this.size--;
+	}
+
+	void putBackBlank() {
+		this.counts[BLANK]++;
+		this.size++;
+	}
+
+	/**
+	 * @return the letters of the rack, blanks excepted, as a mask with bit {@code n} for the letter {@code 'A' + n}
+	 */
+	int getLetterMask() {
+		return this.letterMask;
+	}
+
+	/**
+	 * @return the number of tiles
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Calculate the sums of the points of the most valuable tiles.
+	 *
+	 * @param lettersByPoints the indexes {@code letter - 'A'} of the letters, the most valuable first
+	 * @param letterPoints    points of the letters, indexed by {@code letter - 'A'}
+	 * @param sums            receives at index {@code k} the sum of the points of the {@code k} most valuable tiles,
+	 *                        for {@code k} up to the number of tiles. The blanks count zero.
+	 */
+	void getBestPoints(final int[] lettersByPoints, final int[] letterPoints, final int[] sums) {
+		sums[0] = 0;
+		int k = 0;
+		for (final int letter : lettersByPoints) {
+			for (int n = this.counts[letter]; n > 0; n--) {
+				sums[k + 1] = sums[k] + letterPoints[letter];
+				k++;
+			}
+		}
+		for (; k < this.size; k++) {
+			sums[k + 1] = sums[k];
+		}
+	}
+}
@@ -1,9 +1,5 @@
 package oscrabble.player.ai;
 
-import oscrabble.ScrabbleException;
-import oscrabble.controller.ScrabbleServerInterface;
-import oscrabble.data.Score;
-
 import java.util.*;
 import java.util.function.Function;
 
@@ -12,16 +8,16 @@ import java.util.function.Function;
  */
 public abstract class Strategy {
 
-	protected static TreeMap<Integer, List<String>> sortByFunction(
-			final Collection<String> notations,
-			final Function<String, Integer> strategyScoreFunction,
-			final Comparator<String> secondComparator
+	protected static TreeMap<Integer, List<Move>> sortByFunction(
+			final Collection<Move> moves,
+			final Function<Move, Integer> strategyScoreFunction,
+			final Comparator<Move> secondComparator
 	) {
-		final TreeMap<Integer, List<String>> scoreMap = new TreeMap<>();
-		for (final String notation : notations) {
-			final Integer strategyScore = strategyScoreFunction.apply(notation);
+		final TreeMap<Integer, List<Move>> scoreMap = new TreeMap<>();
+		for (final Move move : moves) {
+			final Integer strategyScore = strategyScoreFunction.apply(move);
 			scoreMap.computeIfAbsent(strategyScore, (k) -> new ArrayList<>())
-					.add(notation);
+					.add(move);
 		}
 		if (secondComparator != null) {
 			for (final Integer value : scoreMap.keySet()) {
@@ -32,47 +28,19 @@ public abstract class Strategy {
 		return scoreMap;
 	}
 
-	public abstract TreeMap<Integer, List<String>> sort(final Set<String> moves);
+	public abstract TreeMap<Integer, List<Move>> sort(final Collection<Move> moves);
 
 	/**
-	 * Strategy: best scores first
+	 * Strategy: best scores first. The scores are the ones calculated by the move generator.
 	 */
 	public static class BestScore extends Strategy {
-		private ScrabbleServerInterface server;
-		private UUID game;
-
-		public BestScore(final ScrabbleServerInterface server, final UUID game) {
-			this.server = server;
-			this.game = game;
-		}
-
-		public void setGame(final UUID game) {
-			this.game = game;
-		}
-
-		public void setServer(final ScrabbleServerInterface server) {
-			this.server = server;
-		}
 
 		@Override
-		public TreeMap<Integer, List<String>> sort(final Set<String> moves) {
-			try {
-				final Collection<Score> scores = this.server.getScores(this.game, moves);
-				return sort(moves, scores);
-			} catch (ScrabbleException e) {
-				throw new Error(e);
-			}
-		}
-
-		private TreeMap<Integer, List<String>> sort(final Set<String> moves, Collection<Score> scores) {
-			final HashMap<String, Integer> map = new HashMap<>();
-			for (final Score score : scores) {
-				map.put(score.getNotation(), score.getScore());
-			}
+		public TreeMap<Integer, List<Move>> sort(final Collection<Move> moves) {
 			return Strategy.sortByFunction(
 					moves,
-					w -> map.get(w),
-					(a,b) -> Score.getWord(b).length() - Score.getWord(a).length()
+					Move::getScore,
+					(a,b) -> b.getLength() - a.getLength()
 			);
 		}
 	}
@@ -80,10 +48,10 @@ public abstract class Strategy {
 	public static class BestSize extends Strategy {
 
 		@Override
-		public TreeMap<Integer, List<String>> sort(final Set<String> moves) {
+		public TreeMap<Integer, List<Move>> sort(final Collection<Move> moves) {
 			return Strategy.sortByFunction(
 					moves,
-					m -> m.length(),
+					m -> m.getLength(),
 					null
 			);
 		}
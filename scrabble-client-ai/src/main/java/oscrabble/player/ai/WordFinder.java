@@ -0,0 +1,54 @@
+package oscrabble.player.ai;
+
+import org.quinto.dawg.CompressedDAWGSet;
+import org.quinto.dawg.DAWGSet;
+import oscrabble.data.IDictionary;
+
+import java.util.NavigableSet;
+
+/**
+ * Search of the words of a dictionary matching a pattern and made with the tiles of a rack. It reads the automaton of
+ * the {@link BruteForceMethod}, shared with the generators of the same dictionary. Words with one letter are not
+ * found.
+ */
+public class WordFinder implements AutoCloseable {
+
+	/**
+	 * Tile of the rack standing for any letter
+	 */
+	public static final char BLANK = ' ';
+
+	private final CompressedDAWGSet automaton;
+
+	private volatile boolean closed;
+
+	public WordFinder(final IDictionary dictionary) {
+		this.automaton = AutomatonRegistry.acquire(BruteForceMethod.AUTOMATON_PREFIX, dictionary, words -> words);
+	}
+
+	/**
+	 * Find the words matching a pattern.
+	 *
+	 * @param pattern the pattern: {@link DAWGSet#ANY_LETTER} stands for one letter, {@link DAWGSet#ANY_LETTERS} for any
+	 *                count of letters, the other letters for themselves, p.ex. {@code ?A??E*}
+	 * @param rack    tiles to replace the wildcards with, {@link #BLANK} for a blank; {@code null} for no limit
+	 * @return the words, in alphabetical order
+	 */
+	public NavigableSet<String> find(final String pattern, final String rack) {
+		if (this.closed) {
+			throw new IllegalStateException("Word finder closed");
+		}
+		return this.automaton.getStringsMatching(pattern, rack, BLANK);
+	}
+
+	/**
+	 * Release the automaton.
+	 */
+	@Override
+	public synchronized void close() {
+		if (!this.closed) {
+			this.closed = true;
+			AutomatonRegistry.release(this.automaton);
+		}
+	}
+}
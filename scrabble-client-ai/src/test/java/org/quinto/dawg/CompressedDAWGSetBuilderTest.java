@@ -0,0 +1,100 @@
+package org.quinto.dawg;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "SpellCheckingInspection"})
+class CompressedDAWGSetBuilderTest {
+
+	private static final List<String> WORDS = Arrays.asList("ELEPHANT", "ELU", "ETUVES", "HERBE", "OU", "PHASME");
+
+	@Test
+	void build() {
+		final CompressedDAWGSetBuilder builder = new CompressedDAWGSetBuilder();
+		assertTrue(builder.addAll(WORDS));
+		final CompressedDAWGSet set = builder.build();
+		assertEquals(WORDS, toList(set));
+		assertEquals(WORDS.size(), set.size());
+		assertTrue(set.contains("HERBE"));
+		assertFalse(set.contains("HERB"));
+		assertFalse(set.isWithIncomingTransitions());
+		assertThrows(IllegalStateException.class, () -> builder.add("ZOO"));
+	}
+
+	@Test
+	void sameAsModifiableSet() {
+		final Random random = new Random(0);
+		final TreeSet<String> words = new TreeSet<>();
+		words.add("");
+		while (words.size() < 5000) {
+			final char[] word = new char[1 + random.nextInt(8)];
+			for (int i = 0; i < word.length; i++) {
+				word[i] = (char) ('A' + random.nextInt(6));
+			}
+			words.add(new String(word));
+		}
+
+		final CompressedDAWGSetBuilder builder = new CompressedDAWGSetBuilder();
+		builder.addAll(words);
+		final CompressedDAWGSet set = builder.build();
+		final CompressedDAWGSet expected = new ModifiableDAWGSet(false, words).compress();
+		assertEquals(new ArrayList<>(words), toList(set));
+		assertEquals(expected.getAlphabet(), set.getAlphabet());
+		// the nodes differing only by their accept state share their transition set
+		assertTrue(set.getTransitionCount() <= expected.getTransitionCount());
+		assertTrue(set.getNodeCount() <= expected.getNodeCount());
+		assertEquals(expected.getMaxLength(), set.getMaxLength());
+		for (final String word : Arrays.asList("", "A", "ABCDEF", "FFFFFFFF", "G")) {
+			assertEquals(expected.contains(word), set.contains(word), word);
+			assertEquals(expected.indexOf(word), set.indexOf(word), word);
+		}
+		for (int i = 0; i < words.size(); i += 97) {
+			assertEquals(expected.wordAt(i), set.wordAt(i));
+			assertEquals(i, set.indexOf(set.wordAt(i)));
+		}
+	}
+
+	@Test
+	void readLines() throws IOException {
+		final CompressedDAWGSetBuilder builder = new CompressedDAWGSetBuilder();
+		assertTrue(builder.addAll(new BufferedReader(new StringReader(String.join("\n", WORDS)))));
+		assertEquals(WORDS, toList(builder.build()));
+	}
+
+	@Test
+	void wrongOrder() {
+		final CompressedDAWGSetBuilder builder = new CompressedDAWGSetBuilder();
+		assertTrue(builder.add("HERBE"));
+		assertFalse(builder.add("HERBE"));
+		assertThrows(IllegalArgumentException.class, () -> builder.add("HERB"));
+		assertThrows(IllegalArgumentException.class, () -> builder.add("ELU"));
+		assertTrue(builder.add("HERBES"));
+		assertEquals(Arrays.asList("HERBE", "HERBES"), toList(builder.build()));
+	}
+
+	@Test
+	void tooManyLetters() {
+		final CompressedDAWGSetBuilder builder = new CompressedDAWGSetBuilder();
+		assertThrows(IllegalArgumentException.class, () -> {
+			for (char c = 'A'; c < 'A' + 80; c++) {
+				builder.add("X" + c);
+			}
+		});
+	}
+
+	private static List<String> toList(final Iterable<String> words) {
+		final List<String> list = new ArrayList<>();
+		words.forEach(list::add);
+		return list;
+	}
+}
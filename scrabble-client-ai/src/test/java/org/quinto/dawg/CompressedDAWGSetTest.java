@@ -0,0 +1,252 @@
+package org.quinto.dawg;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "SpellCheckingInspection"})
+class CompressedDAWGSetTest {
+
+	private static final List<String> WORDS = Arrays.asList("ELEPHANT", "ELU", "ETUVES", "HERBE", "OU", "PHASME");
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void writeAndMap(final boolean withIncomingTransitions) throws IOException {
+		final CompressedDAWGSet set = new ModifiableDAWGSet(withIncomingTransitions, WORDS).compress();
+		final Path file = this.tempDir.resolve("set.dawg");
+		set.write(file);
+
+		final CompressedDAWGSet mapped = CompressedDAWGSet.map(file);
+		assertEquals(set, mapped);
+		assertEquals(WORDS, toList(mapped));
+		assertEquals(WORDS.size(), mapped.size());
+		assertTrue(mapped.contains("HERBE"));
+		assertFalse(mapped.contains("HERB"));
+		assertEquals(withIncomingTransitions, mapped.isWithIncomingTransitions());
+		if (withIncomingTransitions) {
+			assertEquals(Set.of("HERBE", "PHASME"), new HashSet<>(toList(mapped.getStringsEndingWith("E"))));
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(CompressedDAWGSet.Storage.class)
+	void read(final CompressedDAWGSet.Storage storage) throws IOException, ClassNotFoundException {
+		final CompressedDAWGSet set = new ModifiableDAWGSet(true, WORDS).compress();
+		final Path file = this.tempDir.resolve("set.dawg");
+		set.write(file);
+
+		final CompressedDAWGSet read = CompressedDAWGSet.read(file, storage);
+		assertEquals(set, read);
+		assertEquals(WORDS, toList(read));
+		assertTrue(read.contains("HERBE"));
+		assertTrue(read.isAccept(read.child(read.child(DAWGNode.START, 'O'), 'U')));
+		assertEquals(3, read.indexOf("HERBE"));
+		assertEquals(Set.of("HERBE", "PHASME"), new HashSet<>(toList(read.getStringsEndingWith("E"))));
+		assertEquals(storage == CompressedDAWGSet.Storage.HEAP, read.outgoingData != null);
+		assertEquals(storage != CompressedDAWGSet.Storage.HEAP, read.outgoing.isDirect());
+		assertEquals(storage != CompressedDAWGSet.Storage.HEAP, read.outgoing.isReadOnly());
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(read);
+		}
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(read, ois.readObject());
+		}
+	}
+
+	@Test
+	void handles() {
+		final CompressedDAWGSet set = new ModifiableDAWGSet(WORDS).compress();
+		int node = DAWGNode.START;
+		for (final char c : "HERB".toCharArray()) {
+			node = set.child(node, c);
+			assertNotEquals(DAWGNode.EMPTY, node);
+			assertFalse(set.isAccept(node));
+		}
+		assertTrue(set.isAccept(set.child(node, 'E')));
+		assertEquals(DAWGNode.EMPTY, set.child(node, 'A'));
+		assertEquals(DAWGNode.EMPTY, set.child(node, 'Z'));
+		assertEquals(-1, set.letterIndex('Z'));
+		assertFalse(set.isAccept(DAWGNode.EMPTY));
+
+		long expectedMask = 0;
+		for (final char c : "EHOP".toCharArray()) {
+			expectedMask |= 1L << set.letterIndex(c);
+		}
+		assertEquals(expectedMask, set.edgeMask(DAWGNode.START));
+		for (long edges = set.edgeMask(DAWGNode.START); edges != 0; edges &= edges - 1) {
+			final int letterIndex = Long.numberOfTrailingZeros(edges);
+			assertEquals(set.child(DAWGNode.START, set.letterAt(letterIndex)), set.child(DAWGNode.START, letterIndex));
+		}
+	}
+
+	@Test
+	void largeAlphabet() throws IOException {
+		final List<String> words = new ArrayList<>();
+		for (char c = 'A'; c < 'A' + 80; c++) {
+			words.add("X" + c);
+		}
+		final CompressedDAWGSet set = new ModifiableDAWGSet(words).compress();
+		assertInstanceOf(CompressedDAWGSetLargeAlphabet.class, set);
+		assertTrue(set.contains("XZ"));
+		assertFalse(set.contains("ZX"));
+		assertFalse(set.isAccept(DAWGNode.EMPTY));
+		for (int i = 0; i < words.size(); i++) {
+			assertEquals(i, set.indexOf(words.get(i)));
+			assertEquals(words.get(i), set.wordAt(i));
+		}
+		assertEquals(-1, set.indexOf("ZX"));
+		assertEquals(-1, set.indexOf("X"));
+		assertEquals(words.size(), set.countStringsStartingWith("X"));
+		assertEquals(1, set.countStringsStartingWith("XZ"));
+		assertThrows(IndexOutOfBoundsException.class, () -> set.wordAt(words.size()));
+		assertEquals(1L << set.letterIndex('X'), set.edgeMask(DAWGNode.START));
+		assertThrows(IllegalArgumentException.class, () -> set.edgeMask(set.child(DAWGNode.START, 'X')));
+		final List<String> visited = new ArrayList<>();
+		set.visitStrings((buffer, length) -> visited.add(new String(buffer, 0, length)));
+		assertEquals(words, visited);
+		final Path file = this.tempDir.resolve("large.dawg");
+		set.write(file);
+
+		final CompressedDAWGSet mapped = CompressedDAWGSet.map(file);
+		assertInstanceOf(CompressedDAWGSetLargeAlphabet.class, mapped);
+		assertEquals(words, toList(mapped));
+		assertEquals(words.size() - 1, mapped.indexOf(words.get(words.size() - 1)));
+
+		// words of different lengths, some being prefixes of others
+		final List<String> mixed = new ArrayList<>(words);
+		mixed.addAll(Arrays.asList("", "X", "XZZ", "Y", "ZX"));
+		final CompressedDAWGSet other = new ModifiableDAWGSet(mixed).compress();
+		assertInstanceOf(CompressedDAWGSetLargeAlphabet.class, other);
+		final List<String> sorted = toList(other);
+		for (int i = 0; i < sorted.size(); i++) {
+			assertEquals(i, other.indexOf(sorted.get(i)));
+			assertEquals(sorted.get(i), other.wordAt(i));
+		}
+		assertEquals(words.size() + 2, other.countStringsStartingWith("X"));
+		assertEquals(2, other.countStringsStartingWith("XZ"));
+	}
+
+	@Test
+	void serializeMapped() throws IOException, ClassNotFoundException {
+		final Path file = this.tempDir.resolve("set.dawg");
+		new ModifiableDAWGSet(WORDS).compress().write(file);
+		final CompressedDAWGSet mapped = CompressedDAWGSet.map(file);
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(mapped);
+		}
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(mapped, ois.readObject());
+		}
+	}
+
+	@Test
+	void wrongFile() throws IOException {
+		final Path file = this.tempDir.resolve("other.dawg");
+		Files.write(file, new byte[64]);
+		assertThrows(IOException.class, () -> CompressedDAWGSet.map(file));
+
+		new ModifiableDAWGSet(WORDS).compress().write(file);
+		final byte[] content = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(content, content.length - 4));
+		assertThrows(IOException.class, () -> CompressedDAWGSet.map(file));
+	}
+
+	@Test
+	void stringsMatching() {
+		for (final DAWGSet set : Arrays.asList(new ModifiableDAWGSet(WORDS), new ModifiableDAWGSet(WORDS).compress())) {
+			assertEquals(List.of("ELEPHANT", "ELU", "ETUVES"), toList(set.getStringsMatching("E*", null, ' ')));
+			assertEquals(List.of("ELEPHANT", "ELU"), toList(set.getStringsMatching("?L*", null, ' ')));
+			assertEquals(List.of("HERBE", "PHASME"), toList(set.getStringsMatching("**E", null, ' ')));
+			assertEquals(List.of("ELU"), toList(set.getStringsMatching("*", "ULEZ", ' ')));
+			assertEquals(List.of("OU"), toList(set.getStringsMatching("*", "O ", ' ')));
+			assertEquals(List.of(), toList(set.getStringsMatching("*", " ", ' ')));
+			assertEquals(List.of("ELU"), toList(set.getStringsMatching("E?U", "L", ' ')));
+			assertEquals(List.of("ELU"), toList(set.getStringsMatching("E?U", " ", ' ')));
+			assertEquals(List.of(), toList(set.getStringsMatching("E?U", "X", ' ')));
+			assertEquals(List.of("HERBE"), toList(set.getStringsMatching("H*E", "BRE", ' ')));
+			assertEquals(List.of(), toList(set.getStringsMatching("H*E", "RE", ' ')));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void numbering(final boolean withIncomingTransitions) {
+		final List<String> words = new ArrayList<>(WORDS);
+		words.addAll(Arrays.asList("", "E", "EL", "ELUE", "ELUES", "HERBES"));
+		final CompressedDAWGSet set = new ModifiableDAWGSet(withIncomingTransitions, words).compress();
+		final List<String> sorted = toList(set);
+		assertEquals(words.size(), sorted.size());
+		for (int i = 0; i < sorted.size(); i++) {
+			assertEquals(i, set.indexOf(sorted.get(i)));
+			assertEquals(sorted.get(i), set.wordAt(i));
+		}
+		assertEquals(-1, set.indexOf("ELUS"));
+		assertEquals(-1, set.indexOf("HERB"));
+		assertEquals(-1, set.indexOf("ZOO"));
+		assertThrows(IndexOutOfBoundsException.class, () -> set.wordAt(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> set.wordAt(sorted.size()));
+
+		assertEquals(sorted.size(), set.countStringsStartingWith(""));
+		assertEquals(7, set.countStringsStartingWith("E"));
+		assertEquals(3, set.countStringsStartingWith("ELU"));
+		assertEquals(2, set.countStringsStartingWith("HERBE"));
+		assertEquals(1, set.countStringsStartingWith("HERBES"));
+		assertEquals(0, set.countStringsStartingWith("Z"));
+	}
+
+	@Test
+	void visitStrings() {
+		final List<String> words = new ArrayList<>(WORDS);
+		words.add("");
+		words.add(String.join("", Collections.nCopies(20, "HERBE")));
+		final ModifiableDAWGSet modifiable = new ModifiableDAWGSet(words);
+		for (final DAWGSet set : Arrays.asList(modifiable, modifiable.compress(), modifiable.compress().uncompress())) {
+			final List<String> visited = new ArrayList<>();
+			assertTrue(set.visitStrings((buffer, length) -> visited.add(new String(buffer, 0, length))));
+			assertEquals(toList(set), visited);
+
+			visited.clear();
+			assertTrue(set.visitStringsStartingWith("EL", (buffer, length) -> visited.add(new String(buffer, 0, length))));
+			assertEquals(List.of("ELEPHANT", "ELU"), visited);
+
+			visited.clear();
+			assertTrue(set.visitStringsStartingWith("Z", (buffer, length) -> visited.add(new String(buffer, 0, length))));
+			assertEquals(List.of(), visited);
+
+			visited.clear();
+			assertFalse(set.visitStrings((buffer, length) -> visited.add(new String(buffer, 0, length)) && visited.size() < 3));
+			assertEquals(List.of("", "ELEPHANT", "ELU"), visited);
+		}
+
+		final CompressedDAWGSet compressed = modifiable.compress();
+		assertEquals(new HashSet<>(words).hashCode(), compressed.hashCode());
+		assertEquals(words.size(), compressed.size());
+	}
+
+	private static List<String> toList(final Iterable<String> strings) {
+		final List<String> list = new ArrayList<>();
+		strings.forEach(list::add);
+		return list;
+	}
+}
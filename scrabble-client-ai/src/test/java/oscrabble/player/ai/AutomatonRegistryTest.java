@@ -0,0 +1,71 @@
+package oscrabble.player.ai;
+
+import org.junit.jupiter.api.Test;
+import oscrabble.data.IDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "SpellCheckingInspection"})
+class AutomatonRegistryTest {
+
+	/**
+	 * A dictionary of its own, so that the generators of the other tests do not count
+	 */
+	private final static IDictionary DICTIONARY = new FrenchDictionaryForTest();
+
+	static {
+		DICTIONARY.getAdmissibleWords().add("ZYZOMYS");
+	}
+
+	@Test
+	void shared() {
+		final BruteForceMethod first = new BruteForceMethod(DICTIONARY);
+		final BruteForceMethod second = new BruteForceMethod(DICTIONARY);
+		assertSame(first.automaton, second.automaton);
+		assertEquals(2, AutomatonRegistry.getReferenceCount(first.automaton));
+
+		final GaddagMethod gaddag = new GaddagMethod(DICTIONARY);
+		assertNotSame(first.automaton, gaddag.gaddag);
+		assertEquals(1, AutomatonRegistry.getReferenceCount(gaddag.gaddag));
+		gaddag.close();
+		assertEquals(0, AutomatonRegistry.getReferenceCount(gaddag.gaddag));
+
+		first.close();
+		assertEquals(1, AutomatonRegistry.getReferenceCount(second.automaton));
+		second.close();
+		assertEquals(0, AutomatonRegistry.getReferenceCount(second.automaton));
+
+		// loaded again after the last generator has been closed
+		final BruteForceMethod third = new BruteForceMethod(DICTIONARY);
+		assertNotSame(second.automaton, third.automaton);
+		assertEquals(second.automaton, third.automaton);
+		third.close();
+	}
+
+	@Test
+	void concurrentLoading() throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<BruteForceMethod>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> new BruteForceMethod(DICTIONARY)));
+			}
+			final BruteForceMethod first = futures.get(0).get();
+			for (final Future<BruteForceMethod> future : futures) {
+				final BruteForceMethod generator = future.get();
+				assertSame(first.automaton, generator.automaton);
+				assertTrue(generator.automaton.contains("HERBE"));
+			}
+			assertEquals(8, AutomatonRegistry.getReferenceCount(first.automaton));
+			for (final Future<BruteForceMethod> future : futures) {
+				future.get().close();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package oscrabble.player.ai;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import oscrabble.ScrabbleException;
+import oscrabble.data.IDictionary;
+import oscrabble.data.objects.Grid;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "SpellCheckingInspection"})
+class BestMovesTest {
+
+	private final static IDictionary DICTIONARY = new FrenchDictionaryForTest();
+
+	private final static List<AbstractMoveGenerator> GENERATORS = Arrays.asList(
+			new BruteForceMethod(DICTIONARY),
+			new GaddagMethod(DICTIONARY)
+	);
+
+	@Test
+	void keepBest() {
+		final Grid grid = new Grid();
+		final BestMoves bestMoves = new BestMoves(2);
+		assertTrue(bestMoves.isEmpty());
+		assertEquals(Integer.MIN_VALUE, bestMoves.getMinimumScore());
+
+		final Move a = new Move(grid.get("H8"), Grid.Direction.HORIZONTAL, "AB".toCharArray(), 2, 2, 10);
+		final Move b = new Move(grid.get("H8"), Grid.Direction.HORIZONTAL, "ABC".toCharArray(), 3, 3, 10);
+		final Move c = new Move(grid.get("H8"), Grid.Direction.HORIZONTAL, "ABD".toCharArray(), 3, 3, 10);
+		final Move d = new Move(grid.get("H8"), Grid.Direction.HORIZONTAL, "AE".toCharArray(), 2, 2, 12);
+		bestMoves.accept(a);
+		assertEquals(Integer.MIN_VALUE, bestMoves.getMinimumScore());
+		bestMoves.accept(b);
+		assertEquals(10, bestMoves.getMinimumScore());
+		bestMoves.accept(c);
+		assertEquals(Arrays.asList(b, c), bestMoves.getMoves());
+		bestMoves.accept(d);
+		assertEquals(Arrays.asList(d, b), bestMoves.getMoves());
+
+		assertThrows(IllegalArgumentException.class, () -> new BestMoves(0));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"grid_1.grid", "grid_2.grid"})
+	void sameAsAllMoves(final String filename) throws IOException {
+		//noinspection DataFlowIssue
+		final String asciiArt = IOUtils.toString(
+				BestMovesTest.class.getResourceAsStream(filename),
+				Charset.defaultCharset()
+		);
+		final Grid grid = Grid.fromAsciiArt(DICTIONARY.getScrabbleRules(), asciiArt);
+		for (final String rack : Arrays.asList("EDPWMES", "AE IRST", "ZQ  UEA")) {
+			assertSameAsAllMoves(grid, rack);
+		}
+	}
+
+	@Test
+	void emptyGrid() {
+		assertSameAsAllMoves(new Grid(), "ELEPHAN");
+		assertSameAsAllMoves(new Grid(), "EL PHA ");
+	}
+
+	@Test
+	void playedGrid() throws ScrabbleException {
+		final Grid grid = new Grid();
+		grid.play(DICTIONARY.getScrabbleRules(), "J2 ELEPHANT");
+		grid.play(DICTIONARY.getScrabbleRules(), "5H ASPHALTE");
+		assertSameAsAllMoves(grid, "ASME TH");
+		assertSameAsAllMoves(grid, "KWYXZEA");
+	}
+
+	/**
+	 * Check, for each generator, serial and parallel, that the best moves are the first ones of all moves sorted by
+	 * score and length.
+	 */
+	private static void assertSameAsAllMoves(final Grid grid, final String rack) {
+		final List<Character> letters = new ArrayList<>(rack.length());
+		rack.chars().forEach(c -> letters.add((char) c));
+
+		for (final AbstractMoveGenerator generator : GENERATORS) {
+			generator.setGrid(grid);
+			generator.setParallel(false);
+			final List<Move> allMoves = new ArrayList<>();
+			generator.generateMoves(letters, allMoves::add);
+			allMoves.sort(Comparator.comparing(Move::getScore).thenComparing(Move::getLength).reversed());
+
+			for (final boolean parallel : new boolean[]{false, true}) {
+				generator.setParallel(parallel);
+				for (final int capacity : new int[]{1, 5}) {
+					final BestMoves bestMoves = new BestMoves(capacity);
+					generator.generateMoves(letters, bestMoves);
+					final String message = generator.getClass().getSimpleName() + " parallel=" + parallel + " rack=" + rack + "\n" + grid;
+					assertEquals(
+							toNotations(allMoves.subList(0, Math.min(capacity, allMoves.size()))),
+							toNotations(bestMoves.getMoves()),
+							message
+					);
+				}
+			}
+			generator.setParallel(false);
+		}
+	}
+
+	private static List<String> toNotations(final List<Move> moves) {
+		final List<String> notations = new ArrayList<>();
+		moves.forEach(m -> notations.add(m.getNotation()));
+		return notations;
+	}
+}
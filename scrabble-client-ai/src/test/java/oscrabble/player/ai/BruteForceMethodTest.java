@@ -6,16 +6,23 @@ import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.quinto.dawg.CompressedDAWGSet;
 import org.quinto.dawg.DAWGNode;
 import oscrabble.ScrabbleException;
 import oscrabble.controller.Action;
 import oscrabble.data.IDictionary;
 import oscrabble.data.objects.Grid;
+import oscrabble.server.ScoreCalculator;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -107,6 +114,11 @@ public class BruteForceMethodTest {
 		MatcherAssert.assertThat(DICTIONARY.getAdmissibleWords(), CoreMatchers.hasItems(foundWords.toArray(new String[0])));
 	}
 
+	private Set<String> getLegalMoves(final BruteForceMethod bfm, final Grid grid, final String rack) {
+		bfm.setGrid(grid);
+		return getLegalMoves(bfm, rack);
+	}
+
 	public Set<String> getLegalMoves(final BruteForceMethod bfm, final String rack) {
 		final ArrayList<Character> list = new ArrayList<>(rack.length());
 		rack.chars().forEach(c -> list.add((char) c));
@@ -122,6 +134,106 @@ public class BruteForceMethodTest {
 		assertTrue(playTiles.contains("5J PhASME"));
 	}
 
+	@Test
+	void generateMoves() throws ScrabbleException {
+		this.instance.setGrid(new Grid());
+		this.instance.grid.play(null, "J2 ELEPHANT");
+		final List<Move> moves = new ArrayList<>();
+		this.instance.generateMoves(Arrays.asList('A', 'S', 'M', 'E', ' ', 'T', 'H'), moves::add);
+		final Move move = moves.stream()
+				.filter(m -> m.getNotation().equals("5J PhASME"))
+				.findFirst()
+				.orElseThrow();
+		assertEquals(Grid.Direction.HORIZONTAL, move.getDirection());
+		assertEquals("5J", move.getStartSquare().getCoordinate());
+		assertEquals(0b10, move.getBlankMask());
+		assertEquals('H', move.getLetter(1));
+		assertEquals(5, move.getTileCount());
+		assertFalse(moves.stream().anyMatch(m -> m.getNotation().equals(oscrabble.data.Action.PASS_TURN_NOTATION)));
+	}
+
+	@Test
+	void scores() throws ScrabbleException {
+		final Grid grid = new Grid();
+		grid.play(DICTIONARY.getScrabbleRules(), "J2 ELEPHANT");
+		grid.play(DICTIONARY.getScrabbleRules(), "5H ASPHALTE");
+		this.instance.setGrid(grid);
+		final List<Move> moves = new ArrayList<>();
+		this.instance.generateMoves(Arrays.asList('A', 'S', 'M', 'E', ' ', 'T', 'R'), moves::add);
+		assertFalse(moves.isEmpty());
+		for (final Move move : moves) {
+			final Action.PlayTiles action = (Action.PlayTiles) Action.parse(null, move.getNotation());
+			assertEquals(
+					ScoreCalculator.getMetaInformation(grid, DICTIONARY.getScrabbleRules(), action).getScore(),
+					move.getScore(),
+					move.getNotation()
+			);
+		}
+	}
+
+	@Test
+	void incrementalAnalysis() throws ScrabbleException {
+		final Grid grid = new Grid();
+		grid.play(DICTIONARY.getScrabbleRules(), "J2 ELEPHANT");
+		this.instance.setGrid(grid);
+		getLegalMoves(this.instance, "ASME TH");
+
+		grid.play(DICTIONARY.getScrabbleRules(), "5H ASPHALTE");
+		final BruteForceMethod fresh = new BruteForceMethod(DICTIONARY);
+		fresh.setGrid(grid);
+		assertEquals(fresh.getAnchors(), this.instance.getAnchors());
+		assertEquals(getLegalMoves(fresh, "ASME TH"), getLegalMoves(this.instance, "ASME TH"));
+
+		// a grid with less tiles
+		final Grid other = new Grid();
+		other.play(DICTIONARY.getScrabbleRules(), "H7 VACANCE");
+		this.instance.setGrid(other);
+		assertEquals(getLegalMoves(new BruteForceMethod(DICTIONARY), other, "ASME TH"), getLegalMoves(this.instance, "ASME TH"));
+	}
+
+	@Test
+	void parallel() throws ScrabbleException {
+		final Grid grid = new Grid();
+		grid.play(null, "J2 ELEPHANT");
+		grid.play(null, "5H ASPHALTE");
+		this.instance.setGrid(grid);
+		final Set<String> expected = getLegalMoves(this.instance, "ASME TH");
+		this.instance.setParallel(true);
+		assertEquals(expected, getLegalMoves(this.instance, "ASME TH"));
+	}
+
+	@Test
+	void precompileAutomaton(@TempDir final Path directory) throws IOException {
+		final Path file = BruteForceMethod.precompileAutomaton(DICTIONARY, directory);
+		assertEquals(new HashSet<>(this.instance.automaton), new HashSet<>(CompressedDAWGSet.map(file)));
+
+		final FileTime lastModified = Files.getLastModifiedTime(file);
+		assertEquals(file, BruteForceMethod.precompileAutomaton(DICTIONARY, directory));
+		assertEquals(lastModified, Files.getLastModifiedTime(file));
+	}
+
+	@Test
+	void timeBudget() throws ScrabbleException {
+		final Grid grid = new Grid();
+		grid.play(null, "J2 ELEPHANT");
+		grid.play(null, "5H ASPHALTE");
+		this.instance.setGrid(grid);
+		final List<Character> rack = Arrays.asList('A', 'S', 'M', 'E', ' ', 'T', 'H');
+		final Set<String> expected = getLegalMoves(this.instance, "ASME TH");
+		for (final boolean parallel : new boolean[]{false, true}) {
+			this.instance.setParallel(parallel);
+
+			final Set<String> found = new HashSet<>();
+			assertFalse(this.instance.generateMoves(rack, move -> found.add(move.getNotation()), Duration.ZERO));
+			assertTrue(expected.containsAll(found));
+
+			final Set<String> all = new LinkedHashSet<>();
+			all.add(oscrabble.data.Action.PASS_TURN_NOTATION);
+			assertTrue(this.instance.generateMoves(rack, move -> all.add(move.getNotation()), Duration.ofMinutes(1)));
+			assertEquals(expected, all);
+		}
+	}
+
 	/**
 	 * Data for a test.
 	 */
@@ -0,0 +1,113 @@
+package oscrabble.player.ai;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import oscrabble.ScrabbleException;
+import oscrabble.data.IDictionary;
+import oscrabble.data.objects.Grid;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "SpellCheckingInspection"})
+class GaddagMethodTest {
+
+	private final static IDictionary DICTIONARY = new FrenchDictionaryForTest();
+
+	private final static GaddagMethod GADDAG_METHOD = new GaddagMethod(DICTIONARY);
+	private final static BruteForceMethod BRUTE_FORCE_METHOD = new BruteForceMethod(DICTIONARY);
+
+	@Test
+	void getGaddagEntries() {
+		final List<String> entries = new ArrayList<>();
+		GaddagMethod.getGaddagEntries(Arrays.asList("ELU", "OU")).forEach(entries::add);
+		assertEquals(Arrays.asList("E>LU", "LE>U", "ULE", "O>U", "UO"), entries);
+	}
+
+	@Test
+	void getSortedGaddagEntries() {
+		final List<String> entries = new ArrayList<>();
+		GaddagMethod.getSortedGaddagEntries(Arrays.asList("ELU", "OU", "LE")).forEach(entries::add);
+		assertEquals(Arrays.asList("E>LU", "EL", "L>E", "LE>U", "O>U", "ULE", "UO"), entries);
+	}
+
+	@Test
+	void loadDictionary() {
+		for (final String word : Arrays.asList("HERBE", "AIMEE", "ETUVES")) {
+			assertTrue(GADDAG_METHOD.gaddag.contains(new StringBuilder(word).reverse().toString()), "Not found: " + word);
+		}
+		assertTrue(GADDAG_METHOD.gaddag.contains("EH>RBE"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"grid_1.grid", "grid_2.grid"})
+	void sameMovesAsBruteForce(final String filename) throws IOException {
+		//noinspection DataFlowIssue
+		final String asciiArt = IOUtils.toString(
+				GaddagMethodTest.class.getResourceAsStream(filename),
+				Charset.defaultCharset()
+		);
+		final Grid grid = Grid.fromAsciiArt(DICTIONARY.getScrabbleRules(), asciiArt);
+		for (final String rack : Arrays.asList("EDPWMES", "AE IRST", "ZQ  UEA")) {
+			assertSameMoves(grid, rack);
+		}
+	}
+
+	@Test
+	void emptyGrid() {
+		assertSameMoves(new Grid(), "ELEPHAN");
+		assertSameMoves(new Grid(), "EL PHA ");
+	}
+
+	@Test
+	void testBlank() throws ScrabbleException {
+		final Grid grid = new Grid();
+		grid.play(null, "J2 ELEPHANT");
+		GADDAG_METHOD.setGrid(grid);
+		final Set<String> playTiles = GADDAG_METHOD.getLegalMoves(toList("ASME TH"));
+		assertTrue(playTiles.contains("5J PHASME"));
+		assertTrue(playTiles.contains("5J PhASME"));
+		assertSameMoves(grid, "ASME TH");
+	}
+
+	@Test
+	void parallel() throws ScrabbleException {
+		final Grid grid = new Grid();
+		grid.play(null, "J2 ELEPHANT");
+		grid.play(null, "5H ASPHALTE");
+		final GaddagMethod parallelMethod = new GaddagMethod(DICTIONARY);
+		parallelMethod.setParallel(true);
+		parallelMethod.setGrid(grid);
+		GADDAG_METHOD.setGrid(grid);
+		assertEquals(
+				new ArrayList<>(GADDAG_METHOD.getLegalMoves(toList("ASME TH"))),
+				new ArrayList<>(parallelMethod.getLegalMoves(toList("ASME TH")))
+		);
+	}
+
+	private static void assertSameMoves(final Grid grid, final String rack) {
+		GADDAG_METHOD.setGrid(grid);
+		BRUTE_FORCE_METHOD.setGrid(grid);
+		assertEquals(getScores(BRUTE_FORCE_METHOD, rack), getScores(GADDAG_METHOD, rack), grid + "\n" + rack);
+	}
+
+	/**
+	 * @return the scores of the moves, by notation
+	 */
+	private static TreeMap<String, Integer> getScores(final AbstractMoveGenerator generator, final String rack) {
+		final TreeMap<String, Integer> scores = new TreeMap<>();
+		generator.generateMoves(toList(rack), move -> assertNull(scores.put(move.getNotation(), move.getScore())));
+		return scores;
+	}
+
+	private static List<Character> toList(final String rack) {
+		final ArrayList<Character> list = new ArrayList<>(rack.length());
+		rack.chars().forEach(c -> list.add((char) c));
+		return list;
+	}
+}
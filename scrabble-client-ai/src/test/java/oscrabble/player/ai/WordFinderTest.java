@@ -0,0 +1,30 @@
+package oscrabble.player.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NavigableSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "SpellCheckingInspection"})
+class WordFinderTest {
+
+	private final static FrenchDictionaryForTest DICTIONARY = new FrenchDictionaryForTest();
+
+	@Test
+	void find() {
+		try (WordFinder finder = new WordFinder(DICTIONARY)) {
+			final NavigableSet<String> words = finder.find("?A??E*", "BRTS   ");
+			assertFalse(words.isEmpty());
+			for (final String word : words) {
+				assertTrue(word.matches(".A..E.*"), word);
+				assertTrue(word.length() <= 9, word);
+				assertTrue(DICTIONARY.isAdmissible(word), word);
+			}
+			assertTrue(finder.find("HERB?", null).contains("HERBE"));
+			assertTrue(finder.find("*", "BEEHR").contains("HERBE"));
+			assertFalse(finder.find("*", "BEHR").contains("HERBE"));
+			assertTrue(finder.find("*", "BEHR ").contains("HERBE"));
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package oscrabble.client;
 
-import oscrabble.ScrabbleException;
 import oscrabble.client.utils.I18N;
 import oscrabble.controller.ScrabbleServerInterface;
 import oscrabble.data.GameState;
@@ -8,26 +7,22 @@ import oscrabble.data.IDictionary;
 import oscrabble.data.Score;
 import oscrabble.data.objects.Grid;
 import oscrabble.player.ai.BruteForceMethod;
+import oscrabble.player.ai.Move;
 import oscrabble.player.ai.Strategy;
 
 import java.util.*;
 
-public abstract class AbstractPossibleMoveDisplayer {
+public abstract class AbstractPossibleMoveDisplayer implements AutoCloseable {
 
 	protected static final Strategy DO_NOT_DISPLAY_STRATEGIE = new Strategy() {
 		@Override
-		public TreeMap<Integer, List<String>> sort(final Set<String> moves) {
+		public TreeMap<Integer, List<Move>> sort(final Collection<Move> moves) {
 			throw new AssertionError("Should not be called");
 		}
 	};
 
 	private final Set<PossibleMoveDisplayer.AttributeChangeListener> attributeChangeListeners = new HashSet<>();
 
-	/**
-	 * The server to calculate the scores
-	 */
-	private ScrabbleServerInterface server;
-
 	private final BruteForceMethod bfm;
 
 	protected AbstractPossibleMoveDisplayer(final IDictionary dictionary) {
@@ -35,17 +30,7 @@ public abstract class AbstractPossibleMoveDisplayer {
 	}
 
 	protected LinkedHashMap<Strategy, String> getStrategyList() {
-		final Strategy.BestScore bestScore = new Strategy.BestScore(null, null);
-		this.attributeChangeListeners.add((fieldName, newValue) -> {
-			switch (fieldName) {
-				case "game": //NON-NLS
-					bestScore.setGame((UUID) newValue);
-					break;
-				case "server":
-					bestScore.setServer(((ScrabbleServerInterface) newValue));
-					break;
-			}
-		});
+		final Strategy.BestScore bestScore = new Strategy.BestScore();
 
 		final LinkedHashMap<Strategy, String> orderStrategies = new LinkedHashMap<>();
 		orderStrategies.put(DO_NOT_DISPLAY_STRATEGIE, I18N.get("nothing"));
@@ -66,7 +51,6 @@ public abstract class AbstractPossibleMoveDisplayer {
 	private List<Character> rack;
 
 	public synchronized void refresh(ScrabbleServerInterface server, GameState state, List<Character> rack) {
-		this.server = server;
 		this.state = state;
 		this.rack = rack;
 
@@ -84,27 +68,33 @@ public abstract class AbstractPossibleMoveDisplayer {
 			throw new IllegalStateException("Game state and rack have not been set");
 		}
 
-		final Collection<Score> scores;
 		if (this.rack.isEmpty() || selectedOrderStrategy == null || selectedOrderStrategy == DO_NOT_DISPLAY_STRATEGIE) {
 			setListData(Collections.emptyList());
 			return;
 		}
 
 		this.bfm.setGrid(Grid.fromData(this.state.grid));
-		final ArrayList<String> words = new ArrayList<>();
-		for (final List<String> subWords : selectedOrderStrategy.sort(this.bfm.getLegalMoves(this.rack)).values()) {
-			words.addAll(0, subWords);
-		}
-		try {
-			scores = this.server.getScores(this.state.getGameId(), words);
-		} catch (ScrabbleException e) {
-			throw new Error(e);
+		final ArrayList<Move> moves = new ArrayList<>();
+		this.bfm.generateMoves(this.rack, moves::add);
+		final ArrayList<Score> scores = new ArrayList<>();
+		for (final List<Move> subWords : selectedOrderStrategy.sort(moves).values()) {
+			final ArrayList<Score> subScores = new ArrayList<>(subWords.size());
+			subWords.forEach(m -> subScores.add(Score.builder().notation(m.getNotation()).score(m.getScore()).build()));
+			scores.addAll(0, subScores);
 		}
 		setListData(new Vector<>(scores));
 	}
 
 	protected abstract void setListData(Collection<Score> scores);
 
+	/**
+	 * Release the automaton of the move generator. The displayer cannot be refreshed anymore afterwards.
+	 */
+	@Override
+	public void close() {
+		this.bfm.close();
+	}
+
 	public interface AttributeChangeListener {
 		void onChange(String fieldName, Object newValue);
 	}
@@ -17,7 +17,9 @@ import oscrabble.data.IDictionary;
 import oscrabble.dictionary.Dictionary;
 import oscrabble.dictionary.Language;
 import oscrabble.player.ai.AIPlayer;
+import oscrabble.player.ai.AbstractMoveGenerator;
 import oscrabble.player.ai.BruteForceMethod;
+import oscrabble.player.ai.GaddagMethod;
 import oscrabble.server.Server;
 
 import javax.swing.*;
@@ -133,12 +135,17 @@ public class Application {
 		final List<String> names = NameUtils.getFrenchFirstNames();
 		names.remove(humanName);
 		final HashSet<AIPlayer> aiPlayers = new HashSet<>();
+		final List<AbstractMoveGenerator> moveGenerators = new ArrayList<>();
 		for (int i = 0; i < (Integer.parseInt((String) this.properties.get("players.number"))) - 1; i++) {
 			final String aiPlayerName = names.get(RANDOM.nextInt(names.size()));
 			names.remove(aiPlayerName);
 			final UUID aiPlayerId = this.server.addPlayer(gameId, aiPlayerName);
 			// TODO: tell the server it is an AI Player
-			final AIPlayer ai = new AIPlayer(new BruteForceMethod(this.dictionary), gameId, aiPlayerId, this.server);
+			final AbstractMoveGenerator moveGenerator = "gaddag".equals(this.properties.get("ai.engine")) //NON-NLS
+					? new GaddagMethod(this.dictionary)
+					: new BruteForceMethod(this.dictionary);
+			moveGenerators.add(moveGenerator);
+			final AIPlayer ai = new AIPlayer(moveGenerator, gameId, aiPlayerId, this.server);
 			ai.setThrottle(Duration.ofSeconds(1));
 			ai.startDaemonThread();
 			aiPlayers.add(ai);
@@ -154,6 +161,8 @@ public class Application {
 			Thread.sleep(500);
 		} while (client.isVisible());
 		this.server.attach(gameId, humanPlayer, true);
+		// the generators of the same engine share one automaton, dropped with the last of them
+		moveGenerators.forEach(AbstractMoveGenerator::close);
 	}
 
 	@Data
@@ -6,9 +6,11 @@ import org.slf4j.LoggerFactory;
 import oscrabble.ScrabbleException;
 import oscrabble.client.utils.I18N;
 import oscrabble.client.ui.AIPlayerConfigPanel;
+import oscrabble.client.ui.CommandPrompt;
 import oscrabble.controller.ScrabbleServerInterface;
 import oscrabble.data.*;
 import oscrabble.player.ai.AIPlayer;
+import oscrabble.player.ai.WordFinder;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -56,6 +58,11 @@ public class Client {
 	 */
 	private UUID lastPlayedTurn;
 
+	/**
+	 * Search of words, created by the first search
+	 */
+	private WordFinder wordFinder;
+
 	public Client(final ScrabbleServerInterface server, final IDictionary dictionary, final UUID game, final UUID player) throws ScrabbleException {
 		this.server = server;
 		this.dictionary = dictionary;
@@ -190,6 +197,15 @@ public class Client {
 		if (command == null) {
 			return;
 		}
+
+		if (command.startsWith(CommandPrompt.FIND_WORDS_PREFIX)) {
+			try {
+				findWords(command.substring(CommandPrompt.FIND_WORDS_PREFIX.length()).trim());
+			} catch (final ScrabbleException ex) {
+				JOptionPane.showMessageDialog(this.playground.gridFrame, ex.getMessage());
+			}
+			return;
+		}
 //		todo if (command.startsWith("/"))
 //		{
 //			final String[] splits = command.split("\\s+");
@@ -239,6 +255,33 @@ public class Client {
 		}
 	}
 
+	/**
+	 * Display the words matching a pattern and made with the tiles of the rack.
+	 *
+	 * @param pattern the pattern, see {@link WordFinder#find}
+	 */
+	private void findWords(final String pattern) throws ScrabbleException {
+		if (this.wordFinder == null) {
+			this.wordFinder = new WordFinder(this.dictionary);
+			this.onQuitGame.add(this.wordFinder::close);
+		}
+		final StringBuilder rack = new StringBuilder();
+		this.server.getRack(this.game, this.player).getChars().forEach(rack::append);
+		final NavigableSet<String> words = this.wordFinder.find(pattern, rack.toString());
+		if (words.isEmpty()) {
+			JOptionPane.showMessageDialog(this.playground.gridFrame, I18N.get("no.word.matching.0", pattern));
+		} else {
+			final JTextArea list = new JTextArea(String.join(" ", words), 10, 40);
+			list.setEditable(false);
+			list.setLineWrap(true);
+			list.setWrapStyleWord(true);
+			JOptionPane.showMessageDialog(
+					this.playground.gridFrame,
+					new Object[]{I18N.get("words.matching.0", pattern), new JScrollPane(list)}
+			);
+		}
+	}
+
 	public IDictionary getDictionary() {
 		return this.dictionary;
 	}
@@ -252,6 +252,7 @@ class Playground {
 	 */
 	void dispose() {
 		this.gridFrame.dispose();
+		this.pmd.close();
 	}
 
 	/**
@@ -334,6 +335,10 @@ class Playground {
 //			}
 
 		String command = this.commandPrompt.getCommand();
+		if (command.startsWith(CommandPrompt.FIND_WORDS_PREFIX)) {
+			this.action = null;
+			return null;
+		}
 		final StringBuilder sb = new StringBuilder();
 
 		boolean joker = false;
@@ -14,6 +14,11 @@ import java.util.Set;
 
 public class CommandPrompt {
 
+    /**
+     * Prefix of the commands searching the words matching a pattern, p.ex. {@code =?A??E*}, with the tiles of the rack
+     */
+    public static final String FIND_WORDS_PREFIX = "="; //NON-NLS
+
     /**
      * Filter, das alles Eingetragene Uppercase schreibt
      */
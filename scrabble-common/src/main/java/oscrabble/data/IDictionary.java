@@ -2,6 +2,7 @@ package oscrabble.data;
 
 import oscrabble.dictionary.DictionaryException;
 
+import java.util.BitSet;
 import java.util.Collection;
 
 /**
@@ -19,6 +20,24 @@ public interface IDictionary {
 	 */
 	boolean isAdmissible(String word);
 
+	/**
+	 * Test several words at once, p.ex. the word of a move and its crosswords.
+	 *
+	 * @param words words
+	 * @return the positions of the admissible words, in the iteration order of the collection
+	 */
+	default BitSet isAdmissible(final Collection<String> words) {
+		final BitSet admissible = new BitSet(words.size());
+		int i = 0;
+		for (final String word : words) {
+			if (isAdmissible(word)) {
+				admissible.set(i);
+			}
+			i++;
+		}
+		return admissible;
+	}
+
 	/**
 	 * @return meta infos
 	 */
@@ -1,25 +1,29 @@
 package oscrabble.dictionary;
 
 import lombok.Data;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.IterableUtils;
-import org.apache.commons.collections4.comparators.ComparatorChain;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import oscrabble.data.DictionaryEntry;
 import oscrabble.data.IDictionary;
 import oscrabble.data.ScrabbleRules;
+import oscrabble.dictionary.metainformationProviders.CachingMetainformationProvider;
+import oscrabble.dictionary.metainformationProviders.FileMetainformationProvider;
 import oscrabble.dictionary.metainformationProviders.UnMotDotNet;
 import oscrabble.dictionary.metainformationProviders.WordMetainformationProvider;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.text.Normalizer;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
 
 public class Dictionary implements IDictionary {
 
@@ -32,19 +36,61 @@ public class Dictionary implements IDictionary {
 
 	private final String name;
 
-	final TreeMap<String, UpperCaseWord> words = new TreeMap<>((o1, o2) -> {
-		if (o1.length() < o2.length()) {
-			return -1;
-		} else if (o1.length() > o2.length()) {
-			return 1;
-		} else {
-			return o1.compareTo(o2);
-		}
-	});
+	/**
+	 * The admissible words, in uppercase, and their mutations
+	 */
+	final WordTable words;
 
 	private final Pattern stripAccentPattern;
 
+	/**
+	 * Number of characters of the {@link #accentFolding} table: the Latin letters. The combining marks, which can be
+	 * composed with the preceding letter, come after them.
+	 */
+	private static final int ACCENT_FOLDING_SIZE = 0x250;
+
+	/**
+	 * Uppercase form without accent of each character, as {@link #toUpperCase} gives it, {@code 0} for the characters
+	 * to convert with the whole word.
+	 */
+	private final char[] accentFolding;
+
+	/**
+	 * Whether the words are converted to uppercase in parallel while loading. Set by default, the system property
+	 * {@code oscrabble.dictionary.parallelLoading} can unset it.
+	 */
+	private static final boolean PARALLEL_LOADING = Boolean.parseBoolean(
+			System.getProperty("oscrabble.dictionary.parallelLoading", "true")
+	);
+
+	/**
+	 * Number of lines read at once while loading
+	 */
+	private static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * Prefix of the {@code metainformation.provider} property for definitions read in a resource
+	 */
+	private static final String FILE_PROVIDER_PREFIX = "file:";
+
+	/**
+	 * Number of words whose definitions are kept in memory
+	 */
+	private static final int DEFINITION_CACHE_SIZE = 1000;
+
+	/**
+	 * Times to live of the cached definitions, and of the absence of definition of a word
+	 */
+	private static final Duration DEFINITION_TIME_TO_LIVE = Duration.ofDays(30);
+	private static final Duration NO_DEFINITION_TIME_TO_LIVE = Duration.ofDays(1);
+
 	public final String md5;
+
+	/**
+	 * Checksum of the resources the dictionary is made from, recorded in its {@link DictionarySnapshot snapshot}
+	 */
+	final long sourceChecksum;
+
 	private final Language language;
 	private WordMetainformationProvider metainformationProvider;
 	private ScrabbleRules scrabbleRules;
@@ -53,6 +99,7 @@ public class Dictionary implements IDictionary {
 		this.language = language;
 		this.name = language.directoryName;
         LOGGER.info("Create dictionary {}", this.name);
+		final StopWatch totalStopWatch = StopWatch.createStarted();
 
 		Properties properties;
 		try {
@@ -84,77 +131,244 @@ public class Dictionary implements IDictionary {
 				regex.append("]]");
 			}
 			this.stripAccentPattern = Pattern.compile(regex.toString());
-
+			this.accentFolding = createAccentFolding();
 
 			String wordLists = properties.getProperty("word.list.files");
 			if (wordLists == null) {
 				wordLists = "word_list.txt";
 			}
-			for (final String wordList : wordLists.split(";")) {
-				try (final BufferedReader reader = getResourceAsReader(namePrefix + wordList)) {
-					assert reader != null;
 
-					String line;
-					while ((line = reader.readLine()) != null) {
-						final String uc = toUpperCase(line);
-						this.words.computeIfAbsent(uc, s -> new UpperCaseWord(uc)).mutations.add(line);
-					}
-				}
+			final List<String> resources = new ArrayList<>();
+			resources.add(namePrefix + this.name + ".properties");
+			for (final String wordList : wordLists.split(";")) {
+				resources.add(namePrefix + wordList);
 			}
-
-			final ComparatorChain<String> sizeComparator = new ComparatorChain<>();
-			sizeComparator.addComparator((o1, o2) -> o1.length() - o2.length());
-			sizeComparator.addComparator(String::compareTo);
-
 			for (int wordLength = 2; wordLength < 15; wordLength++) {
-				try (final BufferedReader reader = getResourceAsReader(namePrefix + "admissible_" + wordLength + "_chars.txt")) {
-					if (reader == null) {
-						continue;
-					}
-					StopWatch stopWatch = StopWatch.createStarted();
-					LOGGER.debug("Read Admissible for {} characters...", wordLength);
-					final LinkedList<String> admissibleWords = new LinkedList<>(IOUtils.readLines(reader));
-					{
-						final ListIterator<String> it = admissibleWords.listIterator();
-						while (it.hasNext()) {
-							final String word = it.next();
-							final String uc = toUpperCase(word);
-							it.set(uc);
-							if (!this.words.containsKey(uc)) {
-								this.words.computeIfAbsent(uc, s -> new UpperCaseWord(uc)).mutations.add(word);
-							}
-						}
-					}
-					LOGGER.debug("Admissible for {} characters read ín {}.", wordLength, stopWatch.formatTime());
-
-					stopWatch.reset();
-					final SortedMap<String, UpperCaseWord> sameLengthEntries = this.words.subMap(
-							StringUtils.repeat('A', wordLength),
-							StringUtils.repeat('A', wordLength + 1)
-					);
-					final Iterator<String> it = sameLengthEntries.keySet().iterator();
-					it.forEachRemaining(
-							scrabbleWord -> {
-								if (!admissibleWords.contains(scrabbleWord)) {
-									it.remove();
-								}
-							}
-					);
-					LOGGER.debug("Known but not allowed words removed ín {}.", stopWatch.formatTime());
+				resources.add(namePrefix + "admissible_" + wordLength + "_chars.txt");
+			}
+			resources.add(namePrefix + "tiles.csv");
+			this.sourceChecksum = getChecksum(resources);
+
+			final DictionarySnapshot snapshot = DictionarySnapshot.find(this.name, this.sourceChecksum);
+			if (snapshot != null) {
+				this.words = snapshot.words;
+				this.md5 = snapshot.md5;
+				this.scrabbleRules = snapshot.rules;
+			} else {
+				this.words = readWordLists(namePrefix, wordLists.split(";"));
+				this.md5 = this.words.md5();
+				this.scrabbleRules = ScrabbleRulesFactory.create(language);
+				final Path file = DictionarySnapshot.getCacheFile(this.name, this.sourceChecksum);
+				try {
+					DictionarySnapshot.write(file, this);
+				} catch (final IOException e) {
+					LOGGER.warn("Cannot write the snapshot " + file + ": " + e);
 				}
-
 			}
-
 		} catch (IOException e) {
 			throw new IOError(e);
 		}
 
 		final String provider = properties.getProperty("metainformation.provider");
 		if (provider != null) {
-			this.metainformationProvider = new UnMotDotNet();
+			this.metainformationProvider = createMetainformationProvider(provider);
 //			((Wiktionary) this.metainformationProvider).setHtmlWidth(200);
 		}
-		this.md5 = DigestUtils.md5Hex(this.words.toString());
+		LOGGER.info("Dictionary {} with {} words created in {}", this.name, this.words.size(), totalStopWatch.formatTime());
+	}
+
+	/**
+	 * Create the provider of the definitions. A {@code file:} value names a resource of the dictionary read by a
+	 * {@link FileMetainformationProvider}, any other one the web site, whose answers are
+	 * {@link CachingMetainformationProvider cached} in the temporary directory.
+	 *
+	 * @param provider the value of the property {@code metainformation.provider}
+	 * @return the provider
+	 */
+	private WordMetainformationProvider createMetainformationProvider(final String provider) {
+		if (provider.startsWith(FILE_PROVIDER_PREFIX)) {
+			final String resource = this.name + "/" + provider.substring(FILE_PROVIDER_PREFIX.length());
+			final InputStream is = Dictionary.class.getResourceAsStream(resource);
+			if (is == null) {
+				throw new AssertionError("Definitions not found: " + resource);
+			}
+			try {
+				return new FileMetainformationProvider(is);
+			} catch (final IOException e) {
+				throw new IOError(e);
+			}
+		}
+		return new CachingMetainformationProvider(
+				new UnMotDotNet(),
+				FileUtils.getTempDirectory().toPath().resolve("oscrabble-definitions").resolve(this.name),
+				DEFINITION_CACHE_SIZE,
+				DEFINITION_TIME_TO_LIVE,
+				NO_DEFINITION_TIME_TO_LIVE
+		);
+	}
+
+	/**
+	 * Read the word lists and the lists of admissible words of the dictionary.
+	 *
+	 * @param namePrefix directory of the resources
+	 * @param wordLists  names of the word lists
+	 * @return the table of the words
+	 */
+	private WordTable readWordLists(final String namePrefix, final String[] wordLists) throws IOException {
+		// the words with their mutations while loading them, in the order of the word lists
+		final LinkedHashMap<String, List<String>> words = new LinkedHashMap<>();
+		for (final String wordList : wordLists) {
+			final StopWatch stopWatch = StopWatch.createStarted();
+			try (final BufferedReader reader = getResourceAsReader(namePrefix + wordList)) {
+				if (reader == null) {
+					throw new AssertionError("Word list not found: " + namePrefix + wordList);
+				}
+				readWords(reader, (uc, word) -> words.merge(uc, Collections.singletonList(word), Dictionary::addMutation));
+			}
+			LOGGER.debug("Word list {} read in {}.", wordList, stopWatch.formatTime());
+		}
+
+		// the lists of admissible words exclude the other known words of their length
+		final Map<Integer, Set<String>> admissibleWordsByLength = new HashMap<>();
+		for (int wordLength = 2; wordLength < 15; wordLength++) {
+			try (final BufferedReader reader = getResourceAsReader(namePrefix + "admissible_" + wordLength + "_chars.txt")) {
+				if (reader == null) {
+					continue;
+				}
+				final StopWatch stopWatch = StopWatch.createStarted();
+				final Set<String> admissibleWords = new HashSet<>();
+				readWords(reader, (uc, word) -> {
+					admissibleWords.add(uc);
+					words.putIfAbsent(uc, Collections.singletonList(word));
+				});
+				admissibleWordsByLength.put(wordLength, admissibleWords);
+				LOGGER.debug("Admissible for {} characters read in {}.", wordLength, stopWatch.formatTime());
+			}
+		}
+
+		final StopWatch stopWatch = StopWatch.createStarted();
+		words.keySet().removeIf(word -> {
+			final Set<String> admissibleWords = admissibleWordsByLength.get(word.length());
+			return admissibleWords != null && !admissibleWords.contains(word);
+		});
+		LOGGER.debug("Known but not allowed words removed in {}.", stopWatch.formatTime());
+
+		stopWatch.reset();
+		stopWatch.start();
+		final WordTable table = new WordTable(sort(words.entrySet()));
+		LOGGER.debug("Words sorted and stored in {}.", stopWatch.formatTime());
+		return table;
+	}
+
+	/**
+	 * @param resourceNames names of resources
+	 * @return a checksum of their names and contents, a missing resource being counted as empty
+	 */
+	private static long getChecksum(final List<String> resourceNames) throws IOException {
+		final CRC32C checksum = new CRC32C();
+		final byte[] buffer = new byte[65536];
+		for (final String resourceName : resourceNames) {
+			checksum.update(resourceName.getBytes(StandardCharsets.UTF_8));
+			try (InputStream is = Dictionary.class.getResourceAsStream(resourceName)) {
+				if (is == null) {
+					continue;
+				}
+				int read;
+				while ((read = is.read(buffer)) != -1) {
+					checksum.update(buffer, 0, read);
+				}
+			}
+		}
+		return checksum.getValue();
+	}
+
+	/**
+	 * Read words, one per line, and give each one with its uppercase form to a consumer. The lines are read by chunks,
+	 * the words of a chunk being converted in parallel if {@link #PARALLEL_LOADING} is set. Empty lines are skipped.
+	 *
+	 * @param reader   the reader
+	 * @param consumer consumer of the uppercase form and of the word
+	 */
+	private void readWords(final BufferedReader reader, final BiConsumer<String, String> consumer) throws IOException {
+		final String[] lines = new String[CHUNK_SIZE];
+		final String[] upperCases = new String[CHUNK_SIZE];
+		boolean end = false;
+		while (!end) {
+			int count = 0;
+			while (count < CHUNK_SIZE) {
+				final String line = reader.readLine();
+				if (line == null) {
+					end = true;
+					break;
+				}
+				if (!line.isEmpty()) {
+					lines[count++] = line;
+				}
+			}
+
+			final IntStream indexes = IntStream.range(0, count);
+			(PARALLEL_LOADING ? indexes.parallel() : indexes).forEach(i -> upperCases[i] = toUpperCase(lines[i]));
+			for (int i = 0; i < count; i++) {
+				consumer.accept(upperCases[i], lines[i]);
+			}
+		}
+	}
+
+	/**
+	 * Sort words in the {@link WordTable#ORDER order} of the table. They are distributed by length first, keeping the
+	 * order of the word lists, which are mostly alphabetical: the sort of the words of each length takes then an
+	 * almost linear time.
+	 */
+	private static List<Map.Entry<String, List<String>>> sort(final Collection<Map.Entry<String, List<String>>> entries) {
+		int maxLength = 0;
+		for (final Map.Entry<String, List<String>> entry : entries) {
+			maxLength = Math.max(maxLength, entry.getKey().length());
+		}
+		final int[] starts = new int[maxLength + 2];
+		for (final Map.Entry<String, List<String>> entry : entries) {
+			starts[entry.getKey().length() + 1]++;
+		}
+		for (int length = 1; length < starts.length; length++) {
+			starts[length] += starts[length - 1];
+		}
+
+		@SuppressWarnings("unchecked") final Map.Entry<String, List<String>>[] sorted = new Map.Entry[entries.size()];
+		final int[] positions = starts.clone();
+		for (final Map.Entry<String, List<String>> entry : entries) {
+			sorted[positions[entry.getKey().length()]++] = entry;
+		}
+		for (int length = 0; length <= maxLength; length++) {
+			Arrays.sort(sorted, starts[length], starts[length + 1], Map.Entry.comparingByKey());
+		}
+		return Arrays.asList(sorted);
+	}
+
+	/**
+	 * Add a mutation to the list of the mutations of a word, if not already there.
+	 */
+	private static List<String> addMutation(final List<String> mutations, final List<String> newMutation) {
+		if (mutations.containsAll(newMutation)) {
+			return mutations;
+		}
+		final List<String> list = new ArrayList<>(mutations.size() + 1);
+		list.addAll(mutations);
+		list.addAll(newMutation);
+		return list;
+	}
+
+	/**
+	 * Create the {@link #accentFolding} table. It gives the same result as {@link #stripAccents} on the uppercase
+	 * form of each character, {@code 0} if this form has not exactly one character.
+	 */
+	private char[] createAccentFolding() {
+		final char[] folding = new char[ACCENT_FOLDING_SIZE];
+		for (char c = 1; c < folding.length; c++) {
+			final String folded = stripAccents(String.valueOf(c).toUpperCase());
+			if (folded.length() == 1) {
+				folding[c] = folded.charAt(0);
+			}
+		}
+		return folding;
 	}
 
 	public static Dictionary getDictionary(final Language language) {
@@ -216,16 +430,27 @@ public class Dictionary implements IDictionary {
 	 * @return Das Wort ohne Akzent und großgeschrieben
 	 */
 	String toUpperCase(final String word) {
-		return stripAccents(word.toUpperCase());
+		final char[] chars = new char[word.length()];
+		for (int i = 0; i < chars.length; i++) {
+			final char c = word.charAt(i);
+			final char folded = c < ACCENT_FOLDING_SIZE ? this.accentFolding[c] : 0;
+			if (folded == 0) {
+				return stripAccents(word.toUpperCase());
+			}
+			chars[i] = folded;
+		}
+		return new String(chars);
 	}
 
 	public Set<String> getAdmissibleWords() {
-		return Collections.unmodifiableSet(this.words.keySet());
+		return this.words.wordSet();
 	}
 
 	public boolean containUpperCaseWord(final String word) {
-		final boolean contains = this.getAdmissibleWords().contains(word);
-        LOGGER.trace("is contained {}: {}", word, contains);
+		final boolean contains = this.words.contains(word);
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("is contained {}: {}", word, contains);
+		}
 		return contains;
 	}
 
@@ -235,7 +460,29 @@ public class Dictionary implements IDictionary {
 
 	@Override
 	public boolean isAdmissible(final String word) {
-		return containUpperCaseWord(word);
+		return this.words.contains(word);
+	}
+
+	/**
+	 * Test several uppercase words at once. The words are tested by blocks of 64, in parallel for a large collection
+	 * if {@link #PARALLEL_LOADING} is set.
+	 */
+	@Override
+	public BitSet isAdmissible(final Collection<String> words) {
+		final String[] array = words.toArray(new String[0]);
+		final long[] blocks = new long[(array.length + 63) / 64];
+		final IntStream indexes = IntStream.range(0, blocks.length);
+		(PARALLEL_LOADING && array.length >= CHUNK_SIZE ? indexes.parallel() : indexes).forEach(block -> {
+			long admissible = 0;
+			final int end = Math.min(array.length, (block + 1) * 64);
+			for (int i = block * 64; i < end; i++) {
+				if (this.words.contains(array[i])) {
+					admissible |= 1L << (i - block * 64);
+				}
+			}
+			blocks[block] = admissible;
+		});
+		return BitSet.valueOf(blocks);
 	}
 
 	/**
@@ -244,7 +491,11 @@ public class Dictionary implements IDictionary {
 	 */
 	public Collection<Mutation> getMutations(final String word) {
 		final Set<Mutation> mutations = new HashSet<>();
-		for (final String mutation : this.words.get(word).mutations) {
+		final int index = this.words.indexOf(word);
+		if (index < 0) {
+			return mutations;
+		}
+		for (final String mutation : this.words.getMutations(index)) {
 			final Mutation m = new Mutation();
 			m.word = mutation;
 //			m.definitions = mip != null ? mip.getDefinitions(mutation) : null;
@@ -259,19 +510,6 @@ public class Dictionary implements IDictionary {
 		Iterable<String> definitions;
 	}
 
-	/**
-	 * A word and its mutations
-	 */
-	@Data
-	static class UpperCaseWord {
-		public final String uppercase;
-		public final HashSet<String> mutations = new HashSet<>();
-
-		UpperCaseWord(final String uppercase) {
-			this.uppercase = uppercase;
-		}
-	}
-
 	@Override
 	public ScrabbleRules getScrabbleRules() {
 		if (this.scrabbleRules == null) {
@@ -0,0 +1,65 @@
+package oscrabble.dictionary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOError;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Build step precompiling the {@link DictionarySnapshot snapshot} of the dictionary of each language. The snapshots
+ * are written in the directory given as first argument, which is to be shipped under {@code oscrabble/dictionary} of
+ * the classpath. A language whose dictionary cannot be loaded, p.ex. because a word list is not delivered with the
+ * sources, is reported as error; the step fails for it if the second argument is {@code true}.
+ */
+public final class DictionaryCompiler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DictionaryCompiler.class);
+
+	private DictionaryCompiler() {
+	}
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			throw new IllegalArgumentException("Usage: DictionaryCompiler <output directory> [<all languages required>]");
+		}
+		final Path directory = Paths.get(args[0]);
+		final boolean allRequired = args.length == 2 && Boolean.parseBoolean(args[1]);
+		final List<Language> missing = new ArrayList<>();
+		for (final Language language : Language.values()) {
+			final Dictionary dictionary;
+			try {
+				dictionary = Dictionary.getDictionary(language);
+			} catch (final AssertionError | IOError e) {
+				LOGGER.error("No snapshot precompiled for " + language + ", the dictionary cannot be loaded: " + e);
+				missing.add(language);
+				continue;
+			}
+			final Path file = directory.resolve(DictionarySnapshot.getResourceName(dictionary.getName()));
+			if (Files.exists(file) && DictionarySnapshot.read(() -> Files.newInputStream(file), dictionary.sourceChecksum) != null) {
+				LOGGER.info("Snapshot for " + language + " up to date: " + file.getFileName());
+				continue;
+			}
+			final long start = System.currentTimeMillis();
+			Files.createDirectories(file.getParent());
+			DictionarySnapshot.write(file, dictionary);
+			if (!Files.exists(file)) {
+				throw new IllegalStateException("Snapshot for " + language + " not written: " + file);
+			}
+			LOGGER.info("Snapshot for " + language + ": " + file.getFileName() + " (" + (System.currentTimeMillis() - start) + " ms)");
+		}
+
+		if (!missing.isEmpty()) {
+			final String message = "No snapshot precompiled for " + missing + ": their dictionary is built at first use";
+			if (allRequired) {
+				throw new IllegalStateException(message);
+			}
+			LOGGER.error(message);
+		}
+	}
+}
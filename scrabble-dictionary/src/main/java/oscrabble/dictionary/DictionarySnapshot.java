@@ -0,0 +1,275 @@
+package oscrabble.dictionary;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.lang3.time.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import oscrabble.data.ScrabbleRules;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+
+/**
+ * Binary snapshot of a {@link Dictionary}: its uppercase words, their mutations, its MD5 fingerprint and its
+ * {@link ScrabbleRules}. Reading it spares the parsing of the word lists: the words are read at once in the char pool
+ * of a {@link WordTable}, and the mutations, only needed by {@link Dictionary#getMutations}, at their first use.
+ * <p>
+ * The snapshots are precompiled at build time by {@link DictionaryCompiler} under the directory of each dictionary,
+ * and written in the temporary directory when a dictionary has been loaded from its word lists. A snapshot records a
+ * checksum of the resources it has been made from, and is ignored when they have changed.
+ * <p>
+ * Format, in big-endian order:
+ * <ul>
+ *     <li>magic number, version, checksum of the resources</li>
+ *     <li>MD5 fingerprint</li>
+ *     <li>rules: number of blanks, grid size, tiles required in the bag for an exchange, number of letters, then
+ *     the character, prevalence and points of each letter</li>
+ *     <li>words: number of words, number of chars, offsets, chars</li>
+ *     <li>mutations: number of mutations, number of chars, first mutation of each word, offsets, chars</li>
+ * </ul>
+ */
+final class DictionarySnapshot {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DictionarySnapshot.class);
+
+	/**
+	 * "ODIC"
+	 */
+	private static final int MAGIC = 0x4F444943;
+	private static final int VERSION = 1;
+
+	static final String EXTENSION = ".snapshot";
+
+	final WordTable words;
+	final String md5;
+	final ScrabbleRules rules;
+
+	private DictionarySnapshot(final WordTable words, final String md5, final ScrabbleRules rules) {
+		this.words = words;
+		this.md5 = md5;
+		this.rules = rules;
+	}
+
+	/**
+	 * Look for the snapshot of a dictionary: the precompiled one in the classpath first, then the one of the temporary
+	 * directory.
+	 *
+	 * @param name     name of the dictionary
+	 * @param checksum checksum of the resources of the dictionary
+	 * @return the snapshot, or {@code null} if there is none made from these resources
+	 */
+	static DictionarySnapshot find(final String name, final long checksum) {
+		final String resource = getResourceName(name);
+		try {
+			final DictionarySnapshot snapshot = read(() -> Dictionary.class.getResourceAsStream(resource), checksum);
+			if (snapshot != null) {
+				LOGGER.info("Use precompiled snapshot " + resource);
+				return snapshot;
+			}
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot read the snapshot " + resource + ": " + e);
+		}
+
+		final Path file = getCacheFile(name, checksum);
+		if (Files.exists(file)) {
+			try {
+				final DictionarySnapshot snapshot = read(() -> Files.newInputStream(file), checksum);
+				if (snapshot != null) {
+					LOGGER.info("Use snapshot " + file);
+					return snapshot;
+				}
+			} catch (final IOException e) {
+				LOGGER.warn("Cannot read the snapshot " + file + ": " + e);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param name name of a dictionary
+	 * @return the name of its precompiled snapshot, relative to the package of the dictionary
+	 */
+	static String getResourceName(final String name) {
+		return name + "/" + name + EXTENSION;
+	}
+
+	/**
+	 * @param name     name of a dictionary
+	 * @param checksum checksum of its resources
+	 * @return the file of its snapshot in the temporary directory
+	 */
+	static Path getCacheFile(final String name, final long checksum) {
+		return FileUtils.getTempDirectory().toPath().resolve("oscrabble-" + name + "-" + Long.toHexString(checksum) + EXTENSION);
+	}
+
+	/**
+	 * Read a snapshot, but its mutations, which are read from the source again at their first use.
+	 *
+	 * @param source   the source of the snapshot
+	 * @param checksum the checksum of the resources the snapshot must have been made from
+	 * @return the snapshot, or {@code null} if the source does not exist, has another version or has been made from
+	 * other resources
+	 * @throws IOException if the source is not a snapshot
+	 */
+	static DictionarySnapshot read(final Source source, final long checksum) throws IOException {
+		final InputStream is = source.open();
+		if (is == null) {
+			return null;
+		}
+		try (CountingInputStream counting = new CountingInputStream(new BufferedInputStream(is));
+			 DataInputStream in = new DataInputStream(counting)) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a dictionary snapshot");
+			}
+			if (in.readInt() != VERSION || in.readLong() != checksum) {
+				return null;
+			}
+			final String md5 = in.readUTF();
+
+			final ScrabbleRules rules = new ScrabbleRules();
+			rules.numberBlanks = in.readInt();
+			rules.gridSize = in.readInt();
+			rules.requiredTilesInBagForExchange = in.readInt();
+			rules.letters = new LinkedHashMap<>();
+			final int letterCount = readCount(in);
+			for (int i = 0; i < letterCount; i++) {
+				final ScrabbleRules.Letter letter = ScrabbleRules.Letter.builder()
+						.c(in.readChar())
+						.prevalence(in.readInt())
+						.points(in.readInt())
+						.build();
+				rules.letters.put(letter.c, letter);
+			}
+
+			final int wordCount = readCount(in);
+			final int charCount = readCount(in);
+			final int[] wordOffsets = readInts(in, wordCount + 1);
+			final char[] words = readChars(in, charCount);
+			final long mutationsPosition = counting.getByteCount();
+			final WordTable table = new WordTable(words, wordOffsets, () -> readMutations(source, mutationsPosition, wordCount));
+			return new DictionarySnapshot(table, md5, rules);
+		} catch (final EOFException e) {
+			throw new IOException("Truncated dictionary snapshot", e);
+		}
+	}
+
+	/**
+	 * Read the mutation section of a snapshot
+	 */
+	private static WordTable.Mutations readMutations(final Source source, final long position, final int wordCount) throws IOException {
+		final StopWatch stopWatch = StopWatch.createStarted();
+		final InputStream is = source.open();
+		if (is == null) {
+			throw new FileNotFoundException("Dictionary snapshot disappeared");
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(is))) {
+			IOUtils.skipFully(in, position);
+			final int mutationCount = readCount(in);
+			final int charCount = readCount(in);
+			final int[] firstMutations = readInts(in, wordCount + 1);
+			final int[] offsets = readInts(in, mutationCount + 1);
+			final char[] chars = readChars(in, charCount);
+			LOGGER.debug("Mutations read in {}.", stopWatch.formatTime());
+			return new WordTable.Mutations(firstMutations, chars, offsets);
+		} catch (final EOFException e) {
+			throw new IOException("Truncated dictionary snapshot", e);
+		}
+	}
+
+	/**
+	 * Write the snapshot of a dictionary. The file is replaced at once, as another process may be reading it.
+	 *
+	 * @param file       the file
+	 * @param dictionary the dictionary
+	 * @throws IOException on write error
+	 */
+	static void write(final Path file, final Dictionary dictionary) throws IOException {
+		final WordTable.Mutations mutations = dictionary.words.getLoadedMutations();
+		final ScrabbleRules rules = dictionary.getScrabbleRules();
+		final Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(dictionary.sourceChecksum);
+				out.writeUTF(dictionary.md5);
+
+				out.writeInt(rules.numberBlanks);
+				out.writeInt(rules.gridSize);
+				out.writeInt(rules.requiredTilesInBagForExchange);
+				out.writeInt(rules.letters.size());
+				for (final ScrabbleRules.Letter letter : rules.letters.values()) {
+					out.writeChar(letter.c);
+					out.writeInt(letter.prevalence);
+					out.writeInt(letter.points);
+				}
+
+				out.writeInt(dictionary.words.size());
+				out.writeInt(dictionary.words.words.length);
+				writeInts(out, dictionary.words.wordOffsets);
+				writeChars(out, dictionary.words.words);
+
+				out.writeInt(mutations.offsets.length - 1);
+				out.writeInt(mutations.chars.length);
+				writeInts(out, mutations.firstMutations);
+				writeInts(out, mutations.offsets);
+				writeChars(out, mutations.chars);
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private static int readCount(final DataInputStream in) throws IOException {
+		final int count = in.readInt();
+		if (count < 0) {
+			throw new IOException("Corrupted dictionary snapshot");
+		}
+		return count;
+	}
+
+	private static int[] readInts(final DataInputStream in, final int count) throws IOException {
+		final byte[] bytes = new byte[count * Integer.BYTES];
+		in.readFully(bytes);
+		final int[] ints = new int[count];
+		ByteBuffer.wrap(bytes).asIntBuffer().get(ints);
+		return ints;
+	}
+
+	private static char[] readChars(final DataInputStream in, final int count) throws IOException {
+		final byte[] bytes = new byte[count * Character.BYTES];
+		in.readFully(bytes);
+		final char[] chars = new char[count];
+		ByteBuffer.wrap(bytes).asCharBuffer().get(chars);
+		return chars;
+	}
+
+	private static void writeInts(final DataOutputStream out, final int[] ints) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(ints.length * Integer.BYTES);
+		buffer.asIntBuffer().put(ints);
+		out.write(buffer.array());
+	}
+
+	private static void writeChars(final DataOutputStream out, final char[] chars) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(chars.length * Character.BYTES);
+		buffer.asCharBuffer().put(chars);
+		out.write(buffer.array());
+	}
+
+	/**
+	 * Opens the content of a snapshot
+	 */
+	interface Source {
+		/**
+		 * @return the stream, or {@code null} if the snapshot does not exist
+		 */
+		InputStream open() throws IOException;
+	}
+}
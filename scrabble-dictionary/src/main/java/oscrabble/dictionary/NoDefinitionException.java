@@ -0,0 +1,10 @@
+package oscrabble.dictionary;
+
+/**
+ * Exception of a provider knowing no definition of a word, as opposed to a provider failing to look for it.
+ */
+public class NoDefinitionException extends DictionaryException {
+	public NoDefinitionException(final String message) {
+		super(message);
+	}
+}
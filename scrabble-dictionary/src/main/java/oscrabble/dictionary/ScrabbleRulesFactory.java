@@ -9,6 +9,7 @@ import java.io.IOError;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 
 /**
@@ -25,7 +26,7 @@ public class ScrabbleRulesFactory {
 			rules.letters = new LinkedHashMap<>();
 			rules.gridSize = 15;
 			try (InputStream is = ScrabbleRulesFactory.class.getResourceAsStream(namePrefix + "tiles.csv")) {
-				for (final CSVRecord record : new CSVParser(new InputStreamReader(is), letterFileFormat).getRecords()) {
+				for (final CSVRecord record : new CSVParser(new InputStreamReader(is, StandardCharsets.UTF_8), letterFileFormat).getRecords()) {
 					final String character = record.get("character");
 					if ("blank".equals(character.toLowerCase())) {
 						rules.numberBlanks = Integer.parseInt(record.get("prevalence"));
@@ -0,0 +1,352 @@
+package oscrabble.dictionary;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOError;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * Immutable table of the uppercase words of a dictionary and of their mutations, i.e. the words of the word lists
+ * they come from. The strings are stored in two char pools with their offsets, instead of a map entry, a word object
+ * and a hash set for each word: the table needs about two bytes for each character and a dozen for each word.
+ * <p>
+ * The words are sorted by {@link #ORDER length, then alphabetically}, and found through an open-addressing hash
+ * index. The mutations of a table read from a {@link DictionarySnapshot snapshot} are only loaded when first needed.
+ */
+final class WordTable {
+
+	/**
+	 * Order of the words: the shortest first, the words of same length in alphabetical order.
+	 */
+	static final Comparator<String> ORDER = (o1, o2) -> {
+		if (o1.length() < o2.length()) {
+			return -1;
+		} else if (o1.length() > o2.length()) {
+			return 1;
+		} else {
+			return o1.compareTo(o2);
+		}
+	};
+
+	/**
+	 * The uppercase words one after the other, and the start of each one followed by the end of the last one
+	 */
+	final char[] words;
+	final int[] wordOffsets;
+
+	/**
+	 * Hash index of the words, with linear probing. Each slot holds the {@link String#hashCode hash code} of a word in
+	 * its high half and the index of the word plus one in its low half, {@code 0} for an empty slot. At most half of
+	 * the slots are used: a word not in the table is almost always rejected on the hash codes of one or two slots,
+	 * without any char being compared.
+	 */
+	private final long[] index;
+
+	/**
+	 * Shift giving the first slot of a word from its mixed hash code
+	 */
+	private final int indexShift;
+
+	/**
+	 * Multiplier mixing the hash codes, as {@link String#hashCode} spreads short words badly over the low bits
+	 */
+	private static final int HASH_MIX = 0x9E3779B9;
+
+	/**
+	 * The mutations, {@code null} until they are loaded
+	 */
+	private volatile Mutations mutations;
+
+	/**
+	 * Loader of the mutations, {@code null} once they are loaded
+	 */
+	private MutationsLoader mutationsLoader;
+
+	private final Set<String> wordSet = new WordSet();
+
+	/**
+	 * @param entries the uppercase words and their mutations, in the {@link #ORDER order} of the table
+	 */
+	WordTable(final Collection<? extends Map.Entry<String, ? extends Collection<String>>> entries) {
+		int wordChars = 0;
+		int mutationCount = 0;
+		int mutationChars = 0;
+		for (final Map.Entry<String, ? extends Collection<String>> entry : entries) {
+			wordChars += entry.getKey().length();
+			for (final String mutation : entry.getValue()) {
+				mutationCount++;
+				mutationChars += mutation.length();
+			}
+		}
+
+		this.words = new char[wordChars];
+		this.wordOffsets = new int[entries.size() + 1];
+		final int[] firstMutations = new int[entries.size() + 1];
+		final char[] mutations = new char[mutationChars];
+		final int[] mutationOffsets = new int[mutationCount + 1];
+
+		String previous = null;
+		int word = 0;
+		int mutation = 0;
+		for (final Map.Entry<String, ? extends Collection<String>> entry : entries) {
+			final String uppercase = entry.getKey();
+			if (previous != null && ORDER.compare(previous, uppercase) >= 0) {
+				throw new IllegalArgumentException("Words not in order: " + uppercase + " after " + previous);
+			}
+			previous = uppercase;
+			uppercase.getChars(0, uppercase.length(), this.words, this.wordOffsets[word]);
+			this.wordOffsets[word + 1] = this.wordOffsets[word] + uppercase.length();
+			for (final String m : entry.getValue()) {
+				m.getChars(0, m.length(), mutations, mutationOffsets[mutation]);
+				mutationOffsets[mutation + 1] = mutationOffsets[mutation] + m.length();
+				mutation++;
+			}
+			firstMutations[word + 1] = mutation;
+			word++;
+		}
+		this.mutations = new Mutations(firstMutations, mutations, mutationOffsets);
+		this.index = createIndex(this.words, this.wordOffsets);
+		this.indexShift = Integer.numberOfLeadingZeros(this.index.length) + 1;
+	}
+
+	/**
+	 * Create a table whose mutations are loaded when first needed.
+	 *
+	 * @param words           the uppercase words one after the other, in the {@link #ORDER order} of the table
+	 * @param wordOffsets     the start of each word followed by the end of the last one
+	 * @param mutationsLoader loader of the mutations
+	 */
+	WordTable(final char[] words, final int[] wordOffsets, final MutationsLoader mutationsLoader) {
+		this.words = words;
+		this.wordOffsets = wordOffsets;
+		this.mutationsLoader = mutationsLoader;
+		this.index = createIndex(this.words, this.wordOffsets);
+		this.indexShift = Integer.numberOfLeadingZeros(this.index.length) + 1;
+	}
+
+	/**
+	 * Create the {@link #index hash index} of words.
+	 */
+	private static long[] createIndex(final char[] words, final int[] wordOffsets) {
+		final int size = wordOffsets.length - 1;
+		final long[] index = new long[Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1];
+		final int shift = Integer.numberOfLeadingZeros(index.length) + 1;
+		final int mask = index.length - 1;
+		for (int word = 0; word < size; word++) {
+			int hash = 0;
+			for (int i = wordOffsets[word]; i < wordOffsets[word + 1]; i++) {
+				hash = 31 * hash + words[i];
+			}
+			int slot = (hash * HASH_MIX) >>> shift;
+			while (index[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			index[slot] = (long) hash << 32 | (word + 1);
+		}
+		return index;
+	}
+
+	/**
+	 * @return the number of words
+	 */
+	int size() {
+		return this.wordOffsets.length - 1;
+	}
+
+	/**
+	 * @param word an uppercase word
+	 * @return its index in the table, or a negative number if it is not in the table
+	 */
+	int indexOf(final String word) {
+		final int hash = word.hashCode();
+		final int mask = this.index.length - 1;
+		for (int slot = (hash * HASH_MIX) >>> this.indexShift; ; slot = (slot + 1) & mask) {
+			final long entry = this.index[slot];
+			if (entry == 0) {
+				return -1;
+			}
+			if ((int) (entry >>> 32) == hash) {
+				final int found = (int) entry - 1;
+				if (equals(found, word)) {
+					return found;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param word an uppercase word
+	 * @return whether it is in the table
+	 */
+	boolean contains(final String word) {
+		return indexOf(word) >= 0;
+	}
+
+	/**
+	 * @param index index of a word
+	 * @return the word
+	 */
+	String wordAt(final int index) {
+		final int start = this.wordOffsets[index];
+		return new String(this.words, start, this.wordOffsets[index + 1] - start);
+	}
+
+	/**
+	 * @param index index of a word
+	 * @return the mutations of the word
+	 */
+	List<String> getMutations(final int index) {
+		final Mutations mutations = getLoadedMutations();
+		final int first = mutations.firstMutations[index];
+		final String[] list = new String[mutations.firstMutations[index + 1] - first];
+		for (int i = 0; i < list.length; i++) {
+			final int start = mutations.offsets[first + i];
+			list[i] = new String(mutations.chars, start, mutations.offsets[first + i + 1] - start);
+		}
+		return Arrays.asList(list);
+	}
+
+	/**
+	 * @return whether the mutations are already loaded
+	 */
+	boolean isMutationsLoaded() {
+		return this.mutations != null;
+	}
+
+	/**
+	 * @return the mutations, loaded first if needed
+	 */
+	Mutations getLoadedMutations() {
+		Mutations mutations = this.mutations;
+		if (mutations == null) {
+			synchronized (this) {
+				mutations = this.mutations;
+				if (mutations == null) {
+					try {
+						mutations = this.mutationsLoader.load();
+					} catch (final IOException e) {
+						throw new IOError(e);
+					}
+					if (mutations.firstMutations.length != this.wordOffsets.length) {
+						throw new IOError(new IOException("Mutations of another table"));
+					}
+					this.mutations = mutations;
+					this.mutationsLoader = null;
+				}
+			}
+		}
+		return mutations;
+	}
+
+	/**
+	 * @return a read-only view of the words, iterated in the order of the table
+	 */
+	Set<String> wordSet() {
+		return this.wordSet;
+	}
+
+	/**
+	 * @return the MD5 digest of the words and of their mutations, in hexadecimal
+	 */
+	String md5() {
+		final Mutations mutations = getLoadedMutations();
+		final MessageDigest digest = DigestUtils.getMd5Digest();
+		final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * Math.max(
+				Math.max(this.words.length, mutations.chars.length),
+				Math.max(this.wordOffsets.length, mutations.offsets.length)
+		));
+		for (final char[] chars : Arrays.asList(this.words, mutations.chars)) {
+			buffer.clear();
+			buffer.asCharBuffer().put(chars);
+			digest.update(buffer.limit(chars.length * Character.BYTES));
+		}
+		for (final int[] ints : Arrays.asList(this.wordOffsets, mutations.firstMutations, mutations.offsets)) {
+			buffer.clear();
+			buffer.asIntBuffer().put(ints);
+			digest.update(buffer.limit(ints.length * Integer.BYTES));
+		}
+		return Hex.encodeHexString(digest.digest());
+	}
+
+	/**
+	 * @return whether a word of the table is equal to another one
+	 */
+	private boolean equals(final int index, final String word) {
+		final int start = this.wordOffsets[index];
+		if (this.wordOffsets[index + 1] - start != word.length()) {
+			return false;
+		}
+		for (int i = 0; i < word.length(); i++) {
+			if (this.words[start + i] != word.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The mutations of the words of a table
+	 */
+	static final class Mutations {
+		/**
+		 * The mutations of the word {@code i} are the mutations {@code firstMutations[i]} to
+		 * {@code firstMutations[i + 1]} excluded.
+		 */
+		final int[] firstMutations;
+
+		/**
+		 * The mutations one after the other, and the start of each one followed by the end of the last one
+		 */
+		final char[] chars;
+		final int[] offsets;
+
+		Mutations(final int[] firstMutations, final char[] chars, final int[] offsets) {
+			this.firstMutations = firstMutations;
+			this.chars = chars;
+			this.offsets = offsets;
+		}
+	}
+
+	/**
+	 * Loads the mutations of a table
+	 */
+	interface MutationsLoader {
+		Mutations load() throws IOException;
+	}
+
+	private class WordSet extends AbstractSet<String> {
+		@Override
+		public int size() {
+			return WordTable.this.size();
+		}
+
+		@Override
+		public boolean contains(final Object o) {
+			return o instanceof String && WordTable.this.contains((String) o);
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			return new Iterator<>() {
+				private int next = 0;
+
+				@Override
+				public boolean hasNext() {
+					return this.next < WordTable.this.size();
+				}
+
+				@Override
+				public String next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return wordAt(this.next++);
+				}
+			};
+		}
+	}
+}
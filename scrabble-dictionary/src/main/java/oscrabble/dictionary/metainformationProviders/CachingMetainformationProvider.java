@@ -0,0 +1,253 @@
+package oscrabble.dictionary.metainformationProviders;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import oscrabble.dictionary.DictionaryException;
+import oscrabble.dictionary.NoDefinitionException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache in front of a slow provider, p.ex. one fetching the definitions on a web site. The definitions of the most
+ * recently used words are kept in memory, those of all words in a directory, each one until its time to live expires.
+ * A word without definition, for which the provider returns nothing or throws a {@link NoDefinitionException}, is
+ * cached too, with its own time to live. The concurrent lookups of a word wait for the same fetch. The other errors
+ * of the provider are not cached.
+ */
+public class CachingMetainformationProvider implements WordMetainformationProvider {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CachingMetainformationProvider.class);
+
+	private static final String EXTENSION = ".definitions";
+
+	private final WordMetainformationProvider provider;
+
+	/**
+	 * Directory of the cached definitions, {@code null} to keep them only in memory
+	 */
+	private final Path directory;
+
+	private final long timeToLive;
+	private final long noDefinitionTimeToLive;
+	private final LongSupplier clock;
+
+	/**
+	 * The most recently used entries, the eldest first
+	 */
+	private final LinkedHashMap<String, Entry> entries;
+
+	/**
+	 * The fetches in progress
+	 */
+	private final ConcurrentHashMap<String, CompletableFuture<List<String>>> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * @param provider               the cached provider
+	 * @param directory              directory to store the definitions in, {@code null} to keep them only in memory
+	 * @param capacity               number of words whose definitions are kept in memory
+	 * @param timeToLive             time to live of the definitions
+	 * @param noDefinitionTimeToLive time to live of the absence of definition of a word
+	 */
+	public CachingMetainformationProvider(
+			final WordMetainformationProvider provider,
+			final Path directory,
+			final int capacity,
+			final Duration timeToLive,
+			final Duration noDefinitionTimeToLive
+	) {
+		this(provider, directory, capacity, timeToLive, noDefinitionTimeToLive, System::currentTimeMillis);
+	}
+
+	CachingMetainformationProvider(
+			final WordMetainformationProvider provider,
+			final Path directory,
+			final int capacity,
+			final Duration timeToLive,
+			final Duration noDefinitionTimeToLive,
+			final LongSupplier clock
+	) {
+		this.provider = provider;
+		this.directory = directory;
+		this.timeToLive = timeToLive.toMillis();
+		this.noDefinitionTimeToLive = noDefinitionTimeToLive.toMillis();
+		this.clock = clock;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	@Override
+	public List<String> getDefinitions(final String word) throws DictionaryException {
+		final List<String> cached = getFromMemory(word);
+		if (cached != null) {
+			return cached;
+		}
+
+		final CompletableFuture<List<String>> future = new CompletableFuture<>();
+		final CompletableFuture<List<String>> running = this.pending.putIfAbsent(word, future);
+		if (running != null) {
+			try {
+				return running.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DictionaryException("Interrupted while looking for " + word);
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof DictionaryException) {
+					throw (DictionaryException) e.getCause();
+				}
+				throw new DictionaryException("No definition found for " + word + ": " + e.getCause());
+			}
+		}
+
+		try {
+			final List<String> definitions = load(word);
+			future.complete(definitions);
+			return definitions;
+		} catch (final DictionaryException | RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			this.pending.remove(word, future);
+		}
+	}
+
+	/**
+	 * @return the definitions of a word in memory, {@code null} if not there or expired
+	 */
+	private List<String> getFromMemory(final String word) {
+		synchronized (this.entries) {
+			final Entry entry = this.entries.get(word);
+			return entry != null && entry.expiry > this.clock.getAsLong() ? entry.definitions : null;
+		}
+	}
+
+	/**
+	 * Load the definitions of a word from the memory, which another fetch may just have filled, from the directory,
+	 * and at last from the provider.
+	 */
+	private List<String> load(final String word) throws DictionaryException {
+		final List<String> cached = getFromMemory(word);
+		if (cached != null) {
+			return cached;
+		}
+
+		final long now = this.clock.getAsLong();
+		Entry entry = this.directory == null ? null : readEntry(word, now);
+		if (entry == null) {
+			final List<String> definitions = new ArrayList<>();
+			try {
+				this.provider.getDefinitions(word).forEach(definitions::add);
+			} catch (final NoDefinitionException e) {
+				LOGGER.debug("No definition of " + word + ": " + e.getMessage());
+				definitions.clear();
+			}
+			entry = new Entry(
+					Collections.unmodifiableList(definitions),
+					now + (definitions.isEmpty() ? this.noDefinitionTimeToLive : this.timeToLive)
+			);
+			if (this.directory != null) {
+				writeEntry(word, entry);
+			}
+		}
+		synchronized (this.entries) {
+			this.entries.put(word, entry);
+		}
+		return entry.definitions;
+	}
+
+	/**
+	 * @return the file of the definitions of a word
+	 */
+	private Path getFile(final String word) {
+		return this.directory.resolve(DigestUtils.md5Hex(word.getBytes(StandardCharsets.UTF_8)) + EXTENSION);
+	}
+
+	/**
+	 * @return the entry of a word stored in the directory, {@code null} if not there or expired
+	 */
+	private Entry readEntry(final String word, final long now) {
+		final Path file = getFile(word);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			final long expiry = in.readLong();
+			if (expiry <= now || !word.equals(in.readUTF())) {
+				return null;
+			}
+			final int count = in.readInt();
+			final List<String> definitions = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				final byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				definitions.add(new String(bytes, StandardCharsets.UTF_8));
+			}
+			return new Entry(Collections.unmodifiableList(definitions), expiry);
+		} catch (final IOException | RuntimeException e) {
+			LOGGER.warn("Cannot read the cached definitions " + file + ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Store the entry of a word in the directory. The file is replaced at once, as another process may be reading it.
+	 */
+	private void writeEntry(final String word, final Entry entry) {
+		final Path file = getFile(word);
+		try {
+			Files.createDirectories(this.directory);
+			final Path tempFile = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+			try {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+					out.writeLong(entry.expiry);
+					out.writeUTF(word);
+					out.writeInt(entry.definitions.size());
+					for (final String definition : entry.definitions) {
+						final byte[] bytes = definition.getBytes(StandardCharsets.UTF_8);
+						out.writeInt(bytes.length);
+						out.write(bytes);
+					}
+				}
+				Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(tempFile);
+			}
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot cache the definitions of " + word + " in " + file + ": " + e);
+		}
+	}
+
+	/**
+	 * Cached definitions of a word
+	 */
+	private static final class Entry {
+		/**
+		 * The definitions, empty if the word has none
+		 */
+		final List<String> definitions;
+
+		/**
+		 * Time the definitions expire at, in milliseconds since the epoch
+		 */
+		final long expiry;
+
+		Entry(final List<String> definitions, final long expiry) {
+			this.definitions = definitions;
+			this.expiry = expiry;
+		}
+	}
+}
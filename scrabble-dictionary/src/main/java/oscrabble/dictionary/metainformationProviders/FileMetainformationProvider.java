@@ -0,0 +1,45 @@
+package oscrabble.dictionary.metainformationProviders;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Provider reading the definitions in a local file, one per line as {@code word<TAB>definition}, a word having as many
+ * lines as definitions. The words are compared in lowercase. The empty lines and those beginning with {@code #} are
+ * ignored.
+ */
+public class FileMetainformationProvider implements WordMetainformationProvider {
+
+	private final Map<String, List<String>> definitions = new HashMap<>();
+
+	/**
+	 * @param is the content of the file, in UTF-8. It is closed.
+	 * @throws IOException on read error or if a line has no definition
+	 */
+	public FileMetainformationProvider(final InputStream is) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank() || line.startsWith("#")) {
+					continue;
+				}
+				final int tab = line.indexOf('\t');
+				if (tab == -1) {
+					throw new IOException("No definition in line: " + line);
+				}
+				this.definitions
+						.computeIfAbsent(line.substring(0, tab).trim().toLowerCase(Locale.ROOT), k -> new ArrayList<>())
+						.add(line.substring(tab + 1).trim());
+			}
+		}
+	}
+
+	@Override
+	public List<String> getDefinitions(final String word) {
+		return Collections.unmodifiableList(this.definitions.getOrDefault(word.toLowerCase(Locale.ROOT), Collections.emptyList()));
+	}
+}
@@ -1,5 +1,6 @@
 package oscrabble.dictionary.metainformationProviders;
 
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -7,7 +8,9 @@ import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import oscrabble.dictionary.DictionaryException;
+import oscrabble.dictionary.NoDefinitionException;
 
+import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -51,6 +54,15 @@ public class UnMotDotNet implements WordMetainformationProvider {
 				}
 			}
 			return definitions;
+		} catch (final HttpStatusException e) {
+			final String message = "No definition found for " + word;
+			if (e.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+				// 1mot.net has no page for the word
+				LOGGER.debug(message);
+				throw new NoDefinitionException(message);
+			}
+			LOGGER.error(message, e);
+			throw new DictionaryException(message);
 		} catch (final Throwable e) {
 			final String message = "No definition found for " + word;
 			LOGGER.error(message, e);
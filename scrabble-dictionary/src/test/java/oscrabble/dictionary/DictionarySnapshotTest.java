@@ -0,0 +1,56 @@
+package oscrabble.dictionary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "SpellCheckingInspection"})
+class DictionarySnapshotTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void writeAndRead() throws IOException {
+		final Dictionary dictionary = Dictionary.getDictionary(Language.TEST);
+		final Path file = this.tempDir.resolve("test" + DictionarySnapshot.EXTENSION);
+		DictionarySnapshot.write(file, dictionary);
+
+		final DictionarySnapshot snapshot = DictionarySnapshot.read(() -> Files.newInputStream(file), dictionary.sourceChecksum);
+		assertNotNull(snapshot);
+		assertEquals(dictionary.md5, snapshot.md5);
+		assertEquals(dictionary.getScrabbleRules(), snapshot.rules);
+		assertEquals(new ArrayList<>(dictionary.getAdmissibleWords()), new ArrayList<>(snapshot.words.wordSet()));
+
+		assertFalse(snapshot.words.isMutationsLoaded());
+		assertTrue(snapshot.words.wordSet().contains("ABAISSERA"));
+		assertFalse(snapshot.words.isMutationsLoaded());
+		final int index = snapshot.words.indexOf("ABATARDISSAIS");
+		assertEquals(Arrays.asList("abâtardissais"), snapshot.words.getMutations(index));
+		assertTrue(snapshot.words.isMutationsLoaded());
+		assertEquals(dictionary.md5, snapshot.words.md5());
+
+		assertNull(DictionarySnapshot.read(() -> Files.newInputStream(file), dictionary.sourceChecksum + 1));
+		assertNull(DictionarySnapshot.read(() -> null, dictionary.sourceChecksum));
+	}
+
+	@Test
+	void wrongFile() throws IOException {
+		final Path file = this.tempDir.resolve("other" + DictionarySnapshot.EXTENSION);
+		Files.write(file, new byte[64]);
+		assertThrows(IOException.class, () -> DictionarySnapshot.read(() -> Files.newInputStream(file), 0));
+
+		final Dictionary dictionary = Dictionary.getDictionary(Language.TEST);
+		DictionarySnapshot.write(file, dictionary);
+		final byte[] content = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(content, 1000));
+		assertThrows(IOException.class, () -> DictionarySnapshot.read(() -> Files.newInputStream(file), dictionary.sourceChecksum));
+	}
+}
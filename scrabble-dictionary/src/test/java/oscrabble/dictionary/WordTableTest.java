@@ -0,0 +1,117 @@
+package oscrabble.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "SpellCheckingInspection"})
+class WordTableTest {
+
+	@Test
+	void table() {
+		final TreeMap<String, Set<String>> entries = new TreeMap<>(WordTable.ORDER);
+		entries.put("CHANTE", new TreeSet<>(Arrays.asList("chante", "chanté")));
+		entries.put("OU", new TreeSet<>(Arrays.asList("ou", "où")));
+		entries.put("AIGUE", Collections.singleton("aigüe"));
+		entries.put("ZOO", Collections.singleton("zoo"));
+		final WordTable table = new WordTable(entries.entrySet());
+
+		assertEquals(4, table.size());
+		assertEquals(new ArrayList<>(entries.keySet()), new ArrayList<>(table.wordSet()));
+		assertEquals(entries.keySet(), table.wordSet());
+		assertEquals(entries.keySet().hashCode(), table.wordSet().hashCode());
+		for (final String word : entries.keySet()) {
+			final int index = table.indexOf(word);
+			assertEquals(word, table.wordAt(index));
+			assertEquals(new ArrayList<>(entries.get(word)), table.getMutations(index));
+		}
+
+		assertTrue(table.wordSet().contains("ZOO"));
+		assertFalse(table.wordSet().contains("ZOOS"));
+		assertFalse(table.wordSet().contains("zoo"));
+		assertTrue(table.indexOf("CHANT") < 0);
+		assertTrue(table.indexOf("") < 0);
+		assertThrows(UnsupportedOperationException.class, () -> table.wordSet().remove("ZOO"));
+	}
+
+	@Test
+	void hashCollisions() {
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		final TreeMap<String, Set<String>> entries = new TreeMap<>(WordTable.ORDER);
+		entries.put("BB", Collections.singleton("bb"));
+		assertFalse(new WordTable(entries.entrySet()).wordSet().contains("Aa"));
+
+		entries.put("Aa", Collections.singleton("aa"));
+		entries.put("AaBB", Collections.singleton("aabb"));
+		entries.put("BBAa", Collections.singleton("bbaa"));
+		final WordTable table = new WordTable(entries.entrySet());
+		for (final String word : entries.keySet()) {
+			assertEquals(word, table.wordAt(table.indexOf(word)));
+		}
+		assertTrue(table.indexOf("AaAa") < 0);
+		assertTrue(table.indexOf("BBBB") < 0);
+
+		final WordTable empty = new WordTable(Collections.<String, Set<String>>emptyMap().entrySet());
+		assertEquals(0, empty.size());
+		assertTrue(empty.indexOf("BB") < 0);
+	}
+
+	@Test
+	void wrongOrder() {
+		final TreeMap<String, Set<String>> entries = new TreeMap<>();
+		entries.put("AIGUE", Collections.singleton("aigüe"));
+		entries.put("OU", Collections.singleton("ou"));
+		assertThrows(IllegalArgumentException.class, () -> new WordTable(entries.entrySet()));
+	}
+
+	@Test
+	void dictionary() {
+		final Dictionary dictionary = Dictionary.getDictionary(Language.TEST);
+		assertTrue(dictionary.isAdmissible("ABAISSERA"));
+		assertFalse(dictionary.isAdmissible("abaissera"));
+		final Collection<Dictionary.Mutation> mutations = dictionary.getMutations("ABATARDISSAIS");
+		assertEquals(1, mutations.size());
+		assertEquals("abâtardissais", mutations.iterator().next().getWord());
+		assertTrue(dictionary.getMutations("XYZ").isEmpty());
+
+		// filtered by the list of the admissible words of two letters
+		assertTrue(dictionary.isAdmissible("AH"));
+		assertFalse(dictionary.isAdmissible("DL"));
+		assertFalse(dictionary.isAdmissible(""));
+		assertTrue(dictionary.isAdmissible("AA"));
+		assertEquals("AA", dictionary.getMutations("AA").iterator().next().getWord());
+	}
+
+	@Test
+	void admissibleWords() {
+		final Dictionary dictionary = Dictionary.getDictionary(Language.TEST);
+		final List<String> words = new ArrayList<>();
+		final BitSet expected = new BitSet();
+		for (final String word : dictionary.getAdmissibleWords()) {
+			if (words.size() % 3 == 0) {
+				expected.set(words.size());
+				words.add(word);
+			} else {
+				words.add(word + "Q");
+			}
+		}
+		assertTrue(words.size() > 8192);
+		assertEquals(expected, dictionary.isAdmissible(words));
+		assertEquals(expected.get(0, 100), dictionary.isAdmissible(words.subList(0, 100)));
+		assertEquals(BitSet.valueOf(new long[]{0b101}), dictionary.isAdmissible(Arrays.asList("ABAISSERA", "abaissera", "AH")));
+		assertTrue(dictionary.isAdmissible(Collections.emptyList()).isEmpty());
+	}
+
+	@Test
+	void toUpperCase() {
+		final Dictionary dictionary = Dictionary.getDictionary(Language.TEST);
+		assertEquals("AIGUE", dictionary.toUpperCase("aigüe"));
+		assertEquals("CAFE", dictionary.toUpperCase("Café"));
+		assertEquals("CAFE", dictionary.toUpperCase("Cafe\u0301"));
+		assertEquals("STRASSE", dictionary.toUpperCase("straße"));
+		assertEquals("ŒUVRE", dictionary.toUpperCase("œuvre"));
+		assertEquals("ΕΛΛΑΣ", dictionary.toUpperCase("Ελλάς"));
+	}
+}
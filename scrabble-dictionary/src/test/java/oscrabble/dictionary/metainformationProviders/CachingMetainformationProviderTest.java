@@ -0,0 +1,190 @@
+package oscrabble.dictionary.metainformationProviders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import oscrabble.data.DictionaryEntry;
+import oscrabble.dictionary.Dictionary;
+import oscrabble.dictionary.DictionaryException;
+import oscrabble.dictionary.Language;
+import oscrabble.dictionary.NoDefinitionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "SpellCheckingInspection"})
+class CachingMetainformationProviderTest {
+
+	private static final Duration TIME_TO_LIVE = Duration.ofDays(30);
+	private static final Duration NO_DEFINITION_TIME_TO_LIVE = Duration.ofDays(1);
+
+	@TempDir
+	Path tempDir;
+
+	private final AtomicLong now = new AtomicLong(1_000_000);
+	private final AtomicInteger fetches = new AtomicInteger();
+
+	private final FileMetainformationProvider file;
+
+	CachingMetainformationProviderTest() throws IOException {
+		final String content = "# test\n"
+				+ "chanté\tParticipe passé de chanter.\n"
+				+ "\n"
+				+ "Zoo\tJardin zoologique.\n"
+				+ "zoo\tEnsemble d'animaux.\n";
+		this.file = new FileMetainformationProvider(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private CachingMetainformationProvider createCache(final WordMetainformationProvider provider, final Path directory, final int capacity) {
+		return new CachingMetainformationProvider(provider, directory, capacity, TIME_TO_LIVE, NO_DEFINITION_TIME_TO_LIVE, this.now::get);
+	}
+
+	private WordMetainformationProvider counting(final WordMetainformationProvider provider) {
+		return word -> {
+			this.fetches.incrementAndGet();
+			return provider.getDefinitions(word);
+		};
+	}
+
+	@Test
+	void file() {
+		assertEquals(List.of("Jardin zoologique.", "Ensemble d'animaux."), this.file.getDefinitions("ZOO"));
+		assertEquals(List.of("Participe passé de chanter."), this.file.getDefinitions("chanté"));
+		assertEquals(List.of(), this.file.getDefinitions("chante"));
+		assertThrows(IOException.class, () -> new FileMetainformationProvider(new ByteArrayInputStream("zoo".getBytes(StandardCharsets.UTF_8))));
+	}
+
+	@Test
+	void memory() throws DictionaryException {
+		final CachingMetainformationProvider cache = createCache(counting(this.file), null, 2);
+		assertEquals(this.file.getDefinitions("zoo"), cache.getDefinitions("zoo"));
+		assertEquals(this.file.getDefinitions("zoo"), cache.getDefinitions("zoo"));
+		assertEquals(1, this.fetches.get());
+
+		// least recently used first out
+		cache.getDefinitions("chanté");
+		cache.getDefinitions("zoo");
+		cache.getDefinitions("chante");
+		assertEquals(3, this.fetches.get());
+		cache.getDefinitions("zoo");
+		assertEquals(3, this.fetches.get());
+		cache.getDefinitions("chanté");
+		assertEquals(4, this.fetches.get());
+	}
+
+	@Test
+	void timeToLive() throws DictionaryException {
+		final CachingMetainformationProvider cache = createCache(counting(this.file), null, 10);
+		assertEquals(List.of(), cache.getDefinitions("chante"));
+		cache.getDefinitions("zoo");
+		assertEquals(2, this.fetches.get());
+
+		this.now.addAndGet(NO_DEFINITION_TIME_TO_LIVE.toMillis());
+		assertEquals(List.of(), cache.getDefinitions("chante"));
+		cache.getDefinitions("zoo");
+		assertEquals(3, this.fetches.get());
+
+		this.now.addAndGet(TIME_TO_LIVE.toMillis());
+		cache.getDefinitions("zoo");
+		assertEquals(4, this.fetches.get());
+	}
+
+	@Test
+	void directory() throws DictionaryException {
+		createCache(counting(this.file), this.tempDir, 10).getDefinitions("chanté");
+		createCache(counting(this.file), this.tempDir, 10).getDefinitions("chante");
+		assertEquals(2, this.fetches.get());
+
+		final CachingMetainformationProvider cache = createCache(counting(this.file), this.tempDir, 10);
+		assertEquals(List.of("Participe passé de chanter."), cache.getDefinitions("chanté"));
+		assertEquals(List.of(), cache.getDefinitions("chante"));
+		assertEquals(2, this.fetches.get());
+
+		this.now.addAndGet(NO_DEFINITION_TIME_TO_LIVE.toMillis());
+		final CachingMetainformationProvider later = createCache(counting(this.file), this.tempDir, 10);
+		later.getDefinitions("chanté");
+		later.getDefinitions("chante");
+		assertEquals(3, this.fetches.get());
+	}
+
+	@Test
+	void errors() {
+		final CachingMetainformationProvider cache = createCache(word -> {
+			this.fetches.incrementAndGet();
+			throw new DictionaryException("No connection");
+		}, this.tempDir, 10);
+		assertThrows(DictionaryException.class, () -> cache.getDefinitions("zoo"));
+		assertThrows(DictionaryException.class, () -> cache.getDefinitions("zoo"));
+		assertEquals(2, this.fetches.get());
+	}
+
+	@Test
+	void unknownWord() throws DictionaryException {
+		final WordMetainformationProvider throwing = word -> {
+			this.fetches.incrementAndGet();
+			final List<String> definitions = this.file.getDefinitions(word);
+			if (definitions.isEmpty()) {
+				throw new NoDefinitionException("No definition found for " + word);
+			}
+			return definitions;
+		};
+		createCache(throwing, this.tempDir, 10).getDefinitions("chante");
+		final CachingMetainformationProvider cache = createCache(throwing, this.tempDir, 10);
+		assertEquals(List.of(), cache.getDefinitions("chante"));
+		assertEquals(List.of(), cache.getDefinitions("chante"));
+		assertEquals(1, this.fetches.get());
+
+		this.now.addAndGet(NO_DEFINITION_TIME_TO_LIVE.toMillis());
+		assertEquals(List.of(), cache.getDefinitions("chante"));
+		assertEquals(2, this.fetches.get());
+	}
+
+	@Test
+	void coalescing() throws Exception {
+		final CountDownLatch fetching = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CachingMetainformationProvider cache = createCache(word -> {
+			this.fetches.incrementAndGet();
+			fetching.countDown();
+			try {
+				assertTrue(release.await(10, TimeUnit.SECONDS));
+			} catch (final InterruptedException e) {
+				throw new AssertionError(e);
+			}
+			return this.file.getDefinitions(word);
+		}, null, 10);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<List<String>>> results = new ArrayList<>();
+			results.add(executor.submit(() -> cache.getDefinitions("zoo")));
+			assertTrue(fetching.await(10, TimeUnit.SECONDS));
+			for (int i = 0; i < 3; i++) {
+				results.add(executor.submit(() -> cache.getDefinitions("zoo")));
+			}
+			Thread.sleep(100);
+			release.countDown();
+			for (final Future<List<String>> result : results) {
+				assertEquals(this.file.getDefinitions("zoo"), result.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, this.fetches.get());
+	}
+
+	@Test
+	void dictionary() throws DictionaryException {
+		final DictionaryEntry entry = Dictionary.getDictionary(Language.TEST).getEntry("abâtardissais");
+		assertEquals(2, entry.getDefinitions().size());
+		assertTrue(Dictionary.getDictionary(Language.TEST).getEntry("zzz").getDefinitions().isEmpty());
+	}
+}
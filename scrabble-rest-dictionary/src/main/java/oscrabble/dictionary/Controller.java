@@ -8,12 +8,20 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import oscrabble.data.DictionaryEntry;
 import oscrabble.data.ScrabbleRules;
 import oscrabble.dictionary.metainformationProviders.WordMetainformationProvider;
+import oscrabble.player.ai.WordFinder;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
 
 @SuppressWarnings("unused")
 @org.springframework.stereotype.Controller
@@ -21,6 +29,11 @@ public class Controller {
 
 	public static final Logger LOGGER = LoggerFactory.getLogger(Controller.class);
 
+	/**
+	 * Word finders of the languages already queried
+	 */
+	private static final EnumMap<Language, WordFinder> WORD_FINDERS = new EnumMap<>(Language.class);
+
 	/**
 	 * @param language name of the language
 	 * @return the language
@@ -58,6 +71,32 @@ public class Controller {
 		}
 	}
 
+	/**
+	 * Test if several words are accepted as scrabble words, p.ex. the word of a move and its crosswords, in one call.
+	 *
+	 * @param language Language
+	 * @param words    words to test, with accents
+	 * @return for each word, in the same order, if it is accepted
+	 * @throws UnknownLanguage
+	 */
+	@PostMapping(value = "/{language}/areAdmissible", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<boolean[]> areAdmissible(
+			final @PathVariable("language") String language,
+			final @RequestBody List<String> words
+	) throws UnknownLanguage {
+		final Dictionary d = Dictionary.getDictionary(getLanguage(language));
+		final List<String> upperCases = new ArrayList<>(words.size());
+		for (final String word : words) {
+			upperCases.add(d.toUpperCase(word));
+		}
+		final BitSet admissible = d.isAdmissible(upperCases);
+		final boolean[] accepted = new boolean[words.size()];
+		for (int i = admissible.nextSetBit(0); i >= 0; i = admissible.nextSetBit(i + 1)) {
+			accepted[i] = true;
+		}
+		return ResponseEntity.ok(accepted);
+	}
+
 	/**
 	 * @param language language
 	 * @return list of the admissible words (all uppercase)
@@ -92,11 +131,39 @@ public class Controller {
 			@PathVariable("language") final String language
 	) throws UnknownLanguage {
 		final oscrabble.data.Dictionary dictionary = oscrabble.data.Dictionary.builder()
-				.words(Dictionary.getDictionary(getLanguage(language)).words.keySet())
+				.words(Dictionary.getDictionary(getLanguage(language)).getAdmissibleWords())
 				.build();
 		return new ResponseEntity<>(dictionary, HttpStatus.OK);
 	}
 
+	/**
+	 * Find the words matching a pattern, p.ex. {@code ?A??E*}, and made with the tiles of a rack.
+	 *
+	 * @param language language
+	 * @param pattern  the pattern: {@code ?} stands for one letter, {@code *} for any count of letters, the other
+	 *                 letters for themselves
+	 * @param rack     the tiles to replace the wildcards with, {@code ?} or a space for a blank. No limit if missing.
+	 * @return the words in alphabetical order (all uppercase, at least two letters)
+	 * @throws UnknownLanguage
+	 */
+	@GetMapping(value = "/{language}/findWords", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<Collection<String>> findWords(
+			@PathVariable("language") final String language,
+			@RequestParam("pattern") final String pattern,
+			@RequestParam(value = "rack", required = false) final String rack
+	) throws UnknownLanguage {
+		final Language l = getLanguage(language);
+		final WordFinder finder;
+		synchronized (WORD_FINDERS) {
+			finder = WORD_FINDERS.computeIfAbsent(l, k -> new WordFinder(Dictionary.getDictionary(k)));
+		}
+		final Dictionary d = Dictionary.getDictionary(l);
+		return ResponseEntity.ok(finder.find(
+				d.toUpperCase(pattern),
+				rack == null ? null : d.toUpperCase(rack).replace('?', WordFinder.BLANK)
+		));
+	}
+
 	/**
 	 * @return list of the letters and their properties
 	 * @throws UnknownLanguage
@@ -849,14 +849,16 @@ public class Game implements ScrabbleConstants {
 
 		// check dictionary
 		final Set<String> toTest = new LinkedHashSet<>();
-		toTest.add(moveMI.action.word);
-		toTest.addAll(moveMI.crosswords);
-		for (String crossword : toTest) {
-			crossword = crossword.toUpperCase();
-			if (
-					this.server.isRefused(this.id, crossword)
-							|| !this.dictionary.isAdmissible(crossword)
-			) {
+		toTest.add(moveMI.action.word.toUpperCase());
+		for (final String crossword : moveMI.crosswords) {
+			toTest.add(crossword.toUpperCase());
+		}
+		final BitSet admissible = this.dictionary.isAdmissible(toTest);
+		int i = 0;
+		for (final String crossword : toTest) {
+			final boolean isAdmissible = admissible.get(i);
+			i++;
+			if (this.server.isRefused(this.id, crossword) || !isAdmissible) {
 				final String details = MessageFormat.format(MESSAGES.getString("word.0.is.not.allowed"), crossword);
 				throw new ScrabbleException.ForbiddenPlayException(details);
 			}